@@ -0,0 +1,52 @@
+#!/bin/sh
+# Docker build sırasında, /app altında açılmış jar (application/app.jar) ile çalışır:
+#   1) CDS eğitim çalıştırması: context yenilenince çıkar, yüklenen sınıflar application/app.jsa arşivine yazılır.
+#   2) CDS'siz ve CDS'li açılışta ilk başarılı isteğe (readiness) kadar geçen süre ölçülür.
+# Build ortamında DB ve API anahtarı yoktur. Şema güncellemesi ve JDBC metadata okuması kapatılır;
+# aşağıdaki değerler yalnızca bu betiğin süreçleri içindir, imajın ortamına yazılmaz.
+set -eu
+
+SPRING_AOT="${SPRING_AOT:-true}"
+
+export SPRING_DATASOURCE_URL="jdbc:mysql://localhost:3306/training"
+export SPRING_DATASOURCE_USERNAME="training"
+export SPRING_DATASOURCE_PASSWORD="training"
+export GEMINI_API_KEY="training"
+export JwtToken="training-secret-key-that-is-at-least-256-bits-long"
+
+APP_ARGS="--spring.jpa.hibernate.ddl-auto=none --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false --cvanalyzer.warmup.database-ping=false"
+PORT=18080
+
+java -XX:ArchiveClassesAtExit=application/app.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled="$SPRING_AOT" \
+    -jar application/app.jar $APP_ARGS --cvanalyzer.startup.lazy-init=false
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+measure() {
+    label="$1"
+    shift
+    start=$(now_ms)
+    java "$@" -Dspring.aot.enabled="$SPRING_AOT" -jar application/app.jar $APP_ARGS --server.port=$PORT > startup.log 2>&1 &
+    pid=$!
+    attempts=0
+    until wget -q -O /dev/null "http://localhost:$PORT/actuator/health/readiness"; do
+        attempts=$((attempts + 1))
+        if ! kill -0 "$pid" 2>/dev/null || [ "$attempts" -gt 1200 ]; then
+            cat startup.log
+            kill "$pid" 2>/dev/null || true
+            exit 1
+        fi
+        sleep 0.1
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" || true
+    echo "time-to-first-request ($label): ${elapsed} ms" | tee -a startup-time.txt
+}
+
+rm -f startup-time.txt
+measure "no CDS" -Xshare:auto
+measure "CDS" -XX:SharedArchiveFile=application/app.jsa
+rm -f startup.log
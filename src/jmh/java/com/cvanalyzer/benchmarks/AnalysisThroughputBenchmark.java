@@ -0,0 +1,103 @@
+package com.cvanalyzer.benchmarks;
+
+import com.cvanalyzer.config.AnalysisExecutorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eşzamanlı analiz isteklerinin toplu tamamlanma süresi: uygulamanın analiz havuzu platform ve virtual thread
+ * modlarında karşılaştırılır. Havuz {@link AnalysisExecutorConfig#newAnalysisExecutor} ile, worker sayıları
+ * {@code application.properties}'teki değerlerle kurulur; kuyruk, toplu isteklerin hiçbiri reddedilmesin diye
+ * {@code concurrentRequests} kadardır. Her istek analiz yolunun bloklayıcı adımlarını taklit eder: DB sorgusu,
+ * CV dosyası okuma ve LLM çağrısı. Çalışması Java 21 gerektirir.
+ * <p>
+ * {@code pinnedJdbc=true}, DB adımını eski MySQL sürücüsündeki gibi bir monitor içinde bekletir; virtual thread'ler
+ * bu sürede taşıyıcı thread'i bırakamaz. Throughput = {@code concurrentRequests} / ölçülen süre.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class AnalysisThroughputBenchmark {
+
+    private static final long DB_MILLIS = 5;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "2000"})
+    public int concurrentRequests;
+
+    @Param({"200"})
+    public long llmLatencyMillis;
+
+    @Param({"false", "true"})
+    public boolean pinnedJdbc;
+
+    private ExecutorService executor;
+    private Path cvFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Properties config = PropertiesLoaderUtils.loadAllProperties("application.properties");
+        boolean virtualThreads = "virtual".equals(threads);
+        int workers = Integer.parseInt(config.getProperty(virtualThreads
+                ? "cvanalyzer.analysis.virtual-workers"
+                : "cvanalyzer.analysis.workers"));
+        executor = AnalysisExecutorConfig.newAnalysisExecutor(workers, concurrentRequests, virtualThreads,
+                new SimpleMeterRegistry());
+        cvFile = Files.createTempFile("cv-bench", ".pdf");
+        Files.write(cvFile, SampleCvs.corpus("pdf-3p"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        Files.deleteIfExists(cvFile);
+    }
+
+    @Benchmark
+    public long analyzeBatch() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures.add(executor.submit(this::analyze));
+        }
+        long bytes = 0;
+        for (Future<Integer> future : futures) {
+            bytes += future.get();
+        }
+        return bytes;
+    }
+
+    private int analyze() throws Exception {
+        queryDatabase();
+        byte[] content = Files.readAllBytes(cvFile);
+        Thread.sleep(llmLatencyMillis);
+        return content.length;
+    }
+
+    private void queryDatabase() throws InterruptedException {
+        if (pinnedJdbc) {
+            // Her istek kendi bağlantısının monitor'ünü tutar; çekişme yok, yalnızca pinleme etkisi ölçülür
+            Object connection = new Object();
+            synchronized (connection) {
+                Thread.sleep(DB_MILLIS);
+            }
+        } else {
+            Thread.sleep(DB_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cvanalyzer.benchmarks;
+
+import com.cvanalyzer.extraction.ExtractionMode;
+import com.cvanalyzer.extraction.ExtractionResult;
+import com.cvanalyzer.extraction.TextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yükleme sonrası metin çıkarmanın, uygulamanın varsayılan ayarlarıyla (RESTRICTED, 20.000 karakter)
+ * örnek CV korpusu üzerindeki maliyeti. {@code -prof gc} ile belge başına ayırma miktarı da raporlanır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CvCorpusBenchmark {
+
+    @Param({"pdf-1p", "pdf-3p", "pdf-8p", "docx-short", "docx-long", "docx-table"})
+    public String cv;
+
+    private TextExtractor extractor;
+    private byte[] content;
+    private String contentType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        extractor = new TextExtractor(ExtractionMode.RESTRICTED, 20_000, Duration.ofSeconds(20), 12, new SimpleMeterRegistry());
+        content = SampleCvs.corpus(cv);
+        contentType = SampleCvs.contentType(cv);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public ExtractionResult extract() throws IOException {
+        return extractor.extract(new ByteArrayInputStream(content), contentType);
+    }
+}
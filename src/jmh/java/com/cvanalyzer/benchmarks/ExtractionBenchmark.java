@@ -0,0 +1,57 @@
+package com.cvanalyzer.benchmarks;
+
+import com.cvanalyzer.extraction.ExtractionMode;
+import com.cvanalyzer.extraction.ExtractionResult;
+import com.cvanalyzer.extraction.TextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tam Tika kayıt defteri (FULL) ile kısıtlı parser seti ve PDFBox/POI hızlı yollarını (RESTRICTED)
+ * kısa ve uzun belgeler üzerinde karşılaştırır. Karakter bütçesi belgenin tamamı okunacak kadar yüksektir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Param({"FULL", "RESTRICTED"})
+    public ExtractionMode mode;
+
+    @Param({"2", "40"})
+    public int pages;
+
+    private TextExtractor extractor;
+    private byte[] pdf;
+    private byte[] docx;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        extractor = new TextExtractor(mode, 1_000_000, Duration.ofMinutes(1), 12, new SimpleMeterRegistry());
+        pdf = SampleCvs.pdf(pages);
+        docx = SampleCvs.docx(pages * 55);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public ExtractionResult pdf() throws IOException {
+        return extractor.extract(new ByteArrayInputStream(pdf), "application/pdf");
+    }
+
+    @Benchmark
+    public ExtractionResult docx() throws IOException {
+        return extractor.extract(new ByteArrayInputStream(docx), "application/vnd.openxmlformats-officedocument.wordprocessingml.document");
+    }
+}
@@ -0,0 +1,45 @@
+package com.cvanalyzer.benchmarks;
+
+import com.cvanalyzer.extraction.ExtractionMode;
+import com.cvanalyzer.extraction.ExtractionResult;
+import com.cvanalyzer.extraction.TextExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Taze bir JVM'de extractor kurulumu + ilk belge süresini ölçer; sınıf yükleme ve parser
+ * kayıt defteri taramasının maliyetini gösterir. Her fork tek bir ölçüm üretir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ExtractionColdStartBenchmark {
+
+    @Param({"FULL", "RESTRICTED"})
+    public ExtractionMode mode;
+
+    private byte[] pdf;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pdf = SampleCvs.pdf(2);
+    }
+
+    @Benchmark
+    public ExtractionResult firstPdf() throws IOException {
+        TextExtractor extractor = new TextExtractor(mode, 1_000_000, Duration.ofMinutes(1), 12, new SimpleMeterRegistry());
+        try {
+            return extractor.extract(new ByteArrayInputStream(pdf), "application/pdf");
+        } finally {
+            extractor.shutdown();
+        }
+    }
+}
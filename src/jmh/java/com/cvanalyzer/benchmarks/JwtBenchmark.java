@@ -0,0 +1,53 @@
+package com.cvanalyzer.benchmarks;
+
+import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.security.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her kimliği doğrulanmış istekte JwtFilter'ın yaptığı token işlemleri.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "benchmark-secret-key-that-is-at-least-256-bits-long");
+        jwtUtil.init();
+        token = jwtUtil.generateToken("user@test.com", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user@test.com", "USER");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token);
+    }
+
+    // JwtFilter'ın istek başına yaptığı iş; aynı token tekrarlandığı için doğrulanmış token önbelleğinden gelir
+    @Benchmark
+    public Optional<VerifiedToken> filterPath() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,51 @@
+package com.cvanalyzer.benchmarks;
+
+import com.cvanalyzer.llm.EvaluationResponseParser;
+import com.cvanalyzer.llm.LlmEvaluationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model yanıtından JSON'un ayıklanıp ayrıştırılması. Yanıt biçimleri gerçek modelin döndürdüklerini izler:
+ * çıplak JSON, markdown kod bloğu ve açıklama metni arasına gömülü JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ResponseParsingBenchmark {
+
+    private static final String EVALUATION_JSON = """
+            {
+              "score": 78,
+              "summary": "- Güçlü Java ve Spring Boot deneyimi\\n- Ölçülebilir proje sonuçları\\n- Takım liderliği",
+              "recommendations": "- Sonuçları sayısallaştırın\\n- Özet bölümünü kısaltın\\n- Sertifikaları ayrı listeleyin"
+            }""";
+
+    @Param({"plain", "fenced", "prose", "long-summary"})
+    public String shape;
+
+    private EvaluationResponseParser parser;
+    private String response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = new EvaluationResponseParser(new ObjectMapper());
+        response = switch (shape) {
+            case "plain" -> EVALUATION_JSON;
+            case "fenced" -> "```json\n" + EVALUATION_JSON + "\n```";
+            case "prose" -> "İşte CV değerlendirmesi:\n" + EVALUATION_JSON + "\nUmarım faydalı olur.";
+            case "long-summary" -> EVALUATION_JSON.replace("Takım liderliği", "Takım liderliği ".repeat(180));
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    @Benchmark
+    public LlmEvaluationResult parse() {
+        return parser.parse(response);
+    }
+}
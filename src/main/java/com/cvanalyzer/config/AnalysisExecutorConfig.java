@@ -0,0 +1,131 @@
+package com.cvanalyzer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AnalysisExecutorConfig {
+
+    /**
+     * Analiz işlerini Tomcat thread'lerinden ayıran sabit boyutlu worker havuzu.
+     * Kuyruk sınırlıdır; dolduğunda yeni işler reddedilir (AbortPolicy).
+     * <p>
+     * Virtual thread modunda worker'lar virtual thread'dir. İş neredeyse tamamen bloklayıcı I/O (DB, dosya, LLM)
+     * olduğundan worker sayısı {@code cvanalyzer.analysis.virtual-workers} ile yükseltilir; LLM'e giden eşzamanlılığı
+     * yine LlmGateway'in sınırlayıcısı ve kota planlayıcısı belirler.
+     * <p>
+     * Mod, özellik yerine {@link VirtualThreadConfig}'in varlığından okunur: AOT imajında Tomcat ve Reactor için
+     * verilen {@code @ConditionalOnThreading} kararı derleme anında sabitlenir ve havuz aynı kararı izler. Çalışma
+     * anındaki {@code spring.threads.virtual.enabled} bu karardan farklıysa uygulama açılmaz.
+     */
+    @Bean(name = "analysisExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor analysisExecutor(@Value("${cvanalyzer.analysis.workers:4}") int platformWorkers,
+                                               @Value("${cvanalyzer.analysis.virtual-workers:200}") int virtualWorkers,
+                                               @Value("${cvanalyzer.analysis.queue-capacity:50}") int queueCapacity,
+                                               ObjectProvider<VirtualThreadConfig> virtualThreadConfig,
+                                               Environment environment,
+                                               MeterRegistry meterRegistry) {
+        boolean virtualThreads = virtualThreadConfig.getIfAvailable() != null;
+        if (Threading.VIRTUAL.isActive(environment) != virtualThreads) {
+            throw new IllegalStateException("spring.threads.virtual.enabled çalışma anında "
+                    + (virtualThreads ? "kapalı" : "açık") + ", ancak uygulama AOT ile virtual thread "
+                    + (virtualThreads ? "açık" : "kapalı") + " derlenmiş. Özelliği derleme anındaki değerle aynı "
+                    + "bırakın ya da imajı --build-arg SPRING_AOT=false ile derleyin.");
+        }
+        return newAnalysisExecutor(virtualThreads ? virtualWorkers : platformWorkers, queueCapacity, virtualThreads,
+                meterRegistry);
+    }
+
+    // Benchmark'lar da havuzu buradan kurar; böylece ölçülen, uygulamanın çalıştırdığı yapılandırmadır
+    public static ThreadPoolExecutor newAnalysisExecutor(int workers, int queueCapacity, boolean virtualThreads,
+                                                         MeterRegistry meterRegistry) {
+        ThreadFactory threadFactory = virtualThreads
+                ? new VirtualThreadTaskExecutor("analysis-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("analysis-");
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("analysis.jobs.queue.depth", executor, e -> e.getQueue().size())
+                .description("Sırada bekleyen analiz işi sayısı")
+                .register(meterRegistry);
+        Gauge.builder("analysis.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Şu anda çalışan analiz işi sayısı")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    /**
+     * Yükleme sonrası metin çıkarma (Tika) işleri için CPU çekirdek sayısı kadar worker.
+     * Kuyruk dolarsa iş atlanır; metin ilk analizde çıkarılır.
+     */
+    @Bean(name = "extractionExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor extractionExecutor(@Value("${cvanalyzer.extraction.queue-capacity:100}") int queueCapacity,
+                                                 MeterRegistry meterRegistry) {
+        int workers = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("extraction-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("cv.extraction.queue.depth", executor, e -> e.getQueue().size())
+                .description("Sırada bekleyen metin çıkarma işi sayısı")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    /**
+     * BCrypt hash/doğrulama işleri için CPU'ya göre boyutlanan havuz; login yoğunluğu diğer istekleri aç bırakmasın diye
+     * eşzamanlı hash sayısını sınırlar. Kuyruk dolduğunda istek 429 ile hemen reddedilir.
+     */
+    @Bean(name = "passwordExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordExecutor(@Value("${cvanalyzer.password.workers:0}") int configuredWorkers,
+                                               @Value("${cvanalyzer.password.queue-capacity:64}") int queueCapacity,
+                                               MeterRegistry meterRegistry) {
+        int workers = configuredWorkers > 0 ? configuredWorkers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Sırada bekleyen şifre hash işi sayısı")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Şu anda çalışan şifre hash işi sayısı")
+                .register(meterRegistry);
+
+        return executor;
+    }
+}
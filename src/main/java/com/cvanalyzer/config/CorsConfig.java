@@ -15,8 +15,10 @@ public class CorsConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:4200"));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
+        config.setAllowedMethods(List.of("GET", "HEAD", "POST", "PUT", "DELETE"));
         config.setAllowedHeaders(List.of("*"));
+        // Tarayıcıdaki istemcinin yükleme konumunu ve önbellek doğrulayıcılarını okuyabilmesi için
+        config.setExposedHeaders(List.of("Location", "ETag", "Upload-Offset", "Upload-Length"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,78 @@
+package com.cvanalyzer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Açılıştan sonraki ilk {@code sample-size} gerçek isteğin süresini toplar ve dolunca p99'u bir kez loglar ve
+ * {@code startup.first.requests.p99} gauge'u olarak yayınlar. Isınmanın etkisini deploy sonrası ölçmek içindir.
+ * Actuator (probe) ve LLM stub istekleri sayılmaz.
+ */
+@Component
+public class FirstRequestsLatencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestsLatencyFilter.class);
+
+    private final long[] samples;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+    private volatile double p99Millis = Double.NaN;
+
+    public FirstRequestsLatencyFilter(MeterRegistry meterRegistry,
+                                      @Value("${cvanalyzer.warmup.first-requests-sample-size:100}") int sampleSize) {
+        this.samples = new long[sampleSize];
+        Gauge.builder("startup.first.requests.p99", this, filter -> filter.p99Millis)
+                .description("Açılıştan sonraki ilk isteklerin p99 süresi")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return nextSlot.get() >= samples.length
+                || path.startsWith("/actuator")
+                || path.startsWith("/llm-stub");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    private void record(long nanos) {
+        int slot = nextSlot.getAndIncrement();
+        if (slot >= samples.length) {
+            return;
+        }
+        samples[slot] = nanos;
+        // Son yazan thread, diğer tüm örneklerin yazıldığını görür
+        if (recorded.incrementAndGet() == samples.length) {
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(sorted.length * 0.99) - 1;
+            p99Millis = sorted[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            log.info("Açılıştan sonraki ilk {} isteğin p99 süresi: {} ms", sorted.length, String.format("%.1f", p99Millis));
+        }
+    }
+}
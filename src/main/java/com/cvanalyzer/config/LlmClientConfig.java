@@ -0,0 +1,26 @@
+package com.cvanalyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class LlmClientConfig {
+
+    /**
+     * Spring AI'ın kullandığı RestClient için soket zaman aşımları. LlmGateway süre dolunca çağrıyı
+     * bırakır; okuma zaman aşımı arka planda kalan HTTP isteğinin de aynı sürede sonlanmasını sağlar.
+     */
+    @Bean
+    public RestClientCustomizer llmRestClientTimeouts(@Value("${cvanalyzer.llm.timeout:60s}") Duration timeout) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(Duration.ofSeconds(10))
+                .withReadTimeout(timeout);
+        return builder -> builder.requestFactory(ClientHttpRequestFactories.get(settings));
+    }
+}
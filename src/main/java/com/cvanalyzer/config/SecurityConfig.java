@@ -1,6 +1,7 @@
 package com.cvanalyzer.config;
 
 import com.cvanalyzer.security.JwtFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,11 +27,16 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/cv/**").permitAll()
                         .requestMatchers("api/cv/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        // Yalnızca llmstub profilinde tanımlı; uygulamanın kendisi çağırır
+                        .requestMatchers("/llm-stub/**").permitAll()
                         .requestMatchers(
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
+                        // JwtFilter rolü olduğu gibi yetki olarak verir ("ADMIN"), ROLE_ öneki yoktur
+                        .requestMatchers("/api/v1/admin/**").hasAuthority("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
@@ -38,9 +44,10 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Cost artırıldığında eski hash'ler login sırasında yenisiyle değiştirilir (PasswordHasher.needsRehash)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${cvanalyzer.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
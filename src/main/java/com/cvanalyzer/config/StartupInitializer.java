@@ -0,0 +1,63 @@
+package com.cvanalyzer.config;
+
+import com.cvanalyzer.extraction.TextExtractor;
+import com.cvanalyzer.llm.LlmGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tika parser'ı ve ChatClient context yenilemesi sırasında oluşturulmaz. Readiness ancak ApplicationRunner'lar
+ * bittikten sonra ACCEPTING_TRAFFIC olduğundan ikisi burada paralel hazırlanır; ilk istek bu maliyeti ödemez.
+ * <p>
+ * {@code cvanalyzer.startup.lazy-init=false} iken (CDS eğitim çalıştırması) yenileme sırasında oluşturulurlar,
+ * böylece {@code spring.context.exit=onRefresh} ile çıkılsa da sınıfları arşive girer.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupInitializer implements SmartInitializingSingleton, ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupInitializer.class);
+
+    private final TextExtractor textExtractor;
+    private final LlmGateway llmGateway;
+    private final boolean lazyInit;
+
+    public StartupInitializer(TextExtractor textExtractor,
+                              LlmGateway llmGateway,
+                              @Value("${cvanalyzer.startup.lazy-init:true}") boolean lazyInit) {
+        this.textExtractor = textExtractor;
+        this.llmGateway = llmGateway;
+        this.lazyInit = lazyInit;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!lazyInit) {
+            initialize();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (lazyInit) {
+            initialize();
+        }
+    }
+
+    private void initialize() {
+        long start = System.nanoTime();
+        CompletableFuture<Void> parser = CompletableFuture.runAsync(textExtractor::initialize);
+        llmGateway.initialize();
+        parser.join();
+        log.info("Tika parser ve ChatClient {} ms'de hazırlandı", (System.nanoTime() - start) / 1_000_000);
+    }
+}
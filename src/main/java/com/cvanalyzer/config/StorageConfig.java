@@ -0,0 +1,107 @@
+package com.cvanalyzer.config;
+
+import com.cvanalyzer.storage.CvStorage;
+import com.cvanalyzer.storage.FilesystemCvStorage;
+import com.cvanalyzer.storage.S3CvStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+/**
+ * CV dosyalarının saklandığı arka uç {@code cvanalyzer.storage.type} ile seçilir: {@code filesystem} (varsayılan)
+ * tek node ya da paylaşımlı disk içindir; {@code s3} ile replikalar ortak diske ihtiyaç duymaz.
+ * <p>
+ * Seçim @Conditional ile değil, açılışta yapılır: imaj Spring AOT ile derlendiğinde koşullar derleme anında
+ * sabitlenir ve çalışma zamanındaki {@code CVANALYZER_STORAGE_TYPE} yok sayılırdı.
+ */
+@Configuration
+public class StorageConfig {
+
+    private final String type;
+    private final String root;
+    private final String endpoint;
+    private final String publicEndpoint;
+    private final String region;
+    private final boolean pathStyle;
+    private final String accessKey;
+    private final String secretKey;
+    private final String bucket;
+    private final DataSize partSize;
+
+    // publicEndpoint: tarayıcının eriştiği adres iç ağdaki endpoint'ten farklıysa (ör. docker-compose)
+    // presigned URL'ler bununla imzalanır
+    public StorageConfig(@Value("${cvanalyzer.storage.type:filesystem}") String type,
+                         @Value("${cvanalyzer.storage.root:uploads}") String root,
+                         @Value("${cvanalyzer.storage.s3.endpoint:}") String endpoint,
+                         @Value("${cvanalyzer.storage.s3.public-endpoint:}") String publicEndpoint,
+                         @Value("${cvanalyzer.storage.s3.region:us-east-1}") String region,
+                         @Value("${cvanalyzer.storage.s3.path-style:true}") boolean pathStyle,
+                         @Value("${cvanalyzer.storage.s3.access-key:}") String accessKey,
+                         @Value("${cvanalyzer.storage.s3.secret-key:}") String secretKey,
+                         @Value("${cvanalyzer.storage.s3.bucket:cv-uploads}") String bucket,
+                         @Value("${cvanalyzer.storage.s3.multipart-part-size:5MB}") DataSize partSize) {
+        this.type = type;
+        this.root = root;
+        this.endpoint = endpoint;
+        this.publicEndpoint = publicEndpoint;
+        this.region = region;
+        this.pathStyle = pathStyle;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.bucket = bucket;
+        this.partSize = partSize;
+    }
+
+    // S3 istemcileri yalnızca s3 seçildiyse oluşturulur; S3CvStorage kapatılırken onları da kapatır
+    @Bean
+    public CvStorage cvStorage() {
+        return switch (type.trim().toLowerCase()) {
+            case "filesystem" -> new FilesystemCvStorage(Paths.get(root));
+            case "s3" -> new S3CvStorage(s3Client(), s3Presigner(), bucket, partSize.toBytes());
+            default -> throw new IllegalStateException("Bilinmeyen cvanalyzer.storage.type: " + type);
+        };
+    }
+
+    private S3Client s3Client() {
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials())
+                .forcePathStyle(pathStyle);
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    private S3Presigner s3Presigner() {
+        String signingEndpoint = StringUtils.hasText(publicEndpoint) ? publicEndpoint : endpoint;
+        var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials())
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+        if (StringUtils.hasText(signingEndpoint)) {
+            builder.endpointOverride(URI.create(signingEndpoint));
+        }
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentials() {
+        if (StringUtils.hasText(accessKey)) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+        return DefaultCredentialsProvider.create();
+    }
+}
@@ -0,0 +1,22 @@
+package com.cvanalyzer.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Tomcat, @Async ve zamanlayıcıları Spring Boot virtual thread'e taşır; Reactor'ün boundedElastic'i
+     * (LlmGateway, streaming analiz) ise sistem özelliğiyle ayarlanır. Özellik Schedulers sınıfı yüklenmeden,
+     * yani bean'ler oluşturulmadan önce yazılmalıdır.
+     */
+    @Bean
+    static BeanFactoryPostProcessor reactorBoundedElasticOnVirtualThreads() {
+        return beanFactory -> System.setProperty("reactor.schedulers.defaultBoundedElasticOnVirtualThreads", "true");
+    }
+}
@@ -0,0 +1,154 @@
+package com.cvanalyzer.config;
+
+import com.cvanalyzer.dtos.AnalysisStreamEvent;
+import com.cvanalyzer.extraction.TextExtractor;
+import com.cvanalyzer.llm.EvaluationResponseParser;
+import com.cvanalyzer.llm.LlmEvaluationResult;
+import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.security.PasswordHasher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Readiness UP olmadan önce sıcak yolları sentetik girdilerle çalıştırır: örnek CV'lerden metin çıkarma,
+ * hazır LLM yanıtlarının ayrıştırılması, JSON yazımı, JWT imzalama/doğrulama, BCrypt ve DB ping.
+ * Gerçek LLM çağrılmaz. Süre {@code max-duration} ile sınırlıdır; bir adım hata verirse loglanır ve
+ * açılış engellenmez.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String PDF_TYPE = "application/pdf";
+    private static final String DOCX_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+    private static final String WARMUP_PASSWORD = "Warmup123!";
+    // BCrypt tek başına onlarca ms sürer; birkaç tur JIT için yeterli
+    private static final int PASSWORD_ITERATIONS = 3;
+
+    private final TextExtractor textExtractor;
+    private final EvaluationResponseParser responseParser;
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
+    private final PasswordHasher passwordHasher;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration maxDuration;
+    private final boolean databasePing;
+    private final AtomicLong durationNanos = new AtomicLong();
+
+    public WarmupRunner(TextExtractor textExtractor,
+                        ObjectMapper objectMapper,
+                        JwtUtil jwtUtil,
+                        PasswordHasher passwordHasher,
+                        JdbcTemplate jdbcTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${cvanalyzer.warmup.enabled:true}") boolean enabled,
+                        @Value("${cvanalyzer.warmup.iterations:200}") int iterations,
+                        @Value("${cvanalyzer.warmup.max-duration:60s}") Duration maxDuration,
+                        @Value("${cvanalyzer.warmup.database-ping:true}") boolean databasePing) {
+        this.textExtractor = textExtractor;
+        this.responseParser = new EvaluationResponseParser(objectMapper);
+        this.objectMapper = objectMapper;
+        this.jwtUtil = jwtUtil;
+        this.passwordHasher = passwordHasher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+        this.databasePing = databasePing;
+
+        TimeGauge.builder("startup.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Açılıştaki ısınma aşamasının süresi")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        byte[] pdf;
+        byte[] docx;
+        List<String> responses;
+        try {
+            pdf = new ClassPathResource("warmup/sample-cv.pdf").getContentAsByteArray();
+            docx = new ClassPathResource("warmup/sample-cv.docx").getContentAsByteArray();
+            responses = List.of(new ClassPathResource("warmup/llm-responses.txt")
+                    .getContentAsString(StandardCharsets.UTF_8)
+                    .split("\n---\n"));
+        } catch (IOException e) {
+            log.warn("Isınma örnekleri okunamadı, ısınma atlanıyor: {}", e.getMessage());
+            return;
+        }
+
+        if (databasePing) {
+            pingDatabase();
+        }
+
+        int completed = 0;
+        try {
+            warmPasswords();
+            for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+                textExtractor.extract(new ByteArrayInputStream(pdf), PDF_TYPE);
+                textExtractor.extract(new ByteArrayInputStream(docx), DOCX_TYPE);
+                for (String response : responses) {
+                    LlmEvaluationResult result = responseParser.parse(response);
+                    objectMapper.writeValueAsString(Map.of("evaluation", result, "event", AnalysisStreamEvent.token(result.summary())));
+                }
+                String token = jwtUtil.generateToken("warmup-" + i + "@cvanalyzer.local", "USER");
+                jwtUtil.verify(token);
+                completed++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Isınma {}. turda durdu: {}", completed, e.getMessage());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        durationNanos.set(elapsed);
+        log.info("Isınma tamamlandı: {} tur, {} ms", completed, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Hikari havuzunu açar ve ilk bağlantıların maliyetini trafikten önce öder
+    private void pingDatabase() {
+        try {
+            for (int i = 0; i < 10; i++) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Isınma sırasında veritabanına ulaşılamadı: {}", e.getMessage());
+        }
+    }
+
+    private void warmPasswords() {
+        String hash = passwordHasher.encode(WARMUP_PASSWORD);
+        for (int i = 0; i < PASSWORD_ITERATIONS; i++) {
+            passwordHasher.matches(WARMUP_PASSWORD, hash);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cvanalyzer.controllers;
+
+import com.cvanalyzer.dtos.AdminEvaluationSummary;
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.dtos.EvaluationSort;
+import com.cvanalyzer.services.EvaluationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+// Yalnızca ADMIN rolü erişebilir (bkz. SecurityConfig)
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+    private final EvaluationService evaluationService;
+
+    public AdminController(EvaluationService evaluationService) {
+        this.evaluationService = evaluationService;
+    }
+
+    @GetMapping("/evaluations")
+    public ResponseEntity<CursorPage<AdminEvaluationSummary>> getEvaluations(
+            @RequestParam(defaultValue = "CREATED_AT") EvaluationSort sort,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(evaluationService.searchAll(sort, from, to, minScore, maxScore, cursor, limit));
+    }
+}
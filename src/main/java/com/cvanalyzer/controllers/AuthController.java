@@ -2,13 +2,13 @@ package com.cvanalyzer.controllers;
 
 import com.cvanalyzer.dtos.*;
 import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.PasswordHashingBusyException;
 import com.cvanalyzer.security.JwtUtil;
 import com.cvanalyzer.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 
@@ -19,12 +19,10 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
 
-    public AuthController(UserService userService, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public AuthController(UserService userService, JwtUtil jwtUtil) {
         this.userService = userService;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
     }
 
     @GetMapping("/me")
@@ -66,9 +64,7 @@ public class AuthController {
             throw new RuntimeException("Şifre boş olamaz");
         }
 
-        String storedPassword = user.getPassword();
-
-        boolean isAuthenticated = passwordEncoder.matches(incomingPassword, storedPassword);
+        boolean isAuthenticated = userService.verifyPassword(user, incomingPassword);
 
         if (!isAuthenticated) {
             throw new RuntimeException("Geçersiz şifre");
@@ -94,6 +90,9 @@ public class AuthController {
         try{
             userService.changePassword(email, changePasswordRequest.getCurrentPassword(), changePasswordRequest.getNewPassword());
             return ResponseEntity.ok("Şifreniz değiştirildi.");
+        } catch (PasswordHashingBusyException e) {
+            // GlobalExceptionHandler 429 ve Retry-After ile döner
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
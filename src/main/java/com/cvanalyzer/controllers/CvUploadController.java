@@ -1,155 +1,207 @@
 package com.cvanalyzer.controllers;
 
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.dtos.CvUploadSummary;
 import com.cvanalyzer.entities.CvUpload;
 import com.cvanalyzer.entities.User;
 import com.cvanalyzer.exceptions.*;
-import com.cvanalyzer.repos.CvUploadRepository;
-import com.cvanalyzer.repos.EvaluationRepository;
-import com.cvanalyzer.repos.UserRepository;
+import com.cvanalyzer.services.CvUploadService;
+import com.cvanalyzer.services.UserLookupService;
+import com.cvanalyzer.storage.CvBlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/cv")
 public class CvUploadController {
 
-    private final Path uploadPath = Paths.get("uploads").toAbsolutePath().normalize();
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
 
-    private final CvUploadRepository cvUploadRepository;
-    private final UserRepository userRepository;
-    private final EvaluationRepository evaluationRepository;
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
-    public CvUploadController(CvUploadRepository cvUploadRepository, UserRepository userRepository, EvaluationRepository evaluationRepository) {
-        this.cvUploadRepository = cvUploadRepository;
-        this.userRepository = userRepository;
-        this.evaluationRepository = evaluationRepository;
+    private final UserLookupService userLookupService;
+    private final CvUploadService cvUploadService;
+    private final CvBlobStore cvBlobStore;
+
+    public CvUploadController(UserLookupService userLookupService, CvUploadService cvUploadService, CvBlobStore cvBlobStore) {
+        this.userLookupService = userLookupService;
+        this.cvUploadService = cvUploadService;
+        this.cvBlobStore = cvBlobStore;
     }
 
     @PostMapping("/upload")
     public ResponseEntity<CvUpload> uploadCv(@RequestParam("file") MultipartFile file, Authentication authentication) throws UserNotFoundException {
 
         String userEmail = authentication.getName();
-        User user = userRepository.findByEmail(userEmail)
+        User user = userLookupService.findByEmail(userEmail)
                 .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
 
-        if (file.getSize() > 5 * 1024 * 1024) {
-            throw new FileValidationException("Dosya boyutu 5 MB'tan büyük olamaz.");
-        }
-
-        List<String> allowedTypes = List.of(
-                "application/pdf",
-                "application/msword",
-                "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
-        );
-        if (!allowedTypes.contains(file.getContentType())) {
-            throw new FileValidationException("Sadece PDF veya Word dosyaları yüklenebilir.");
-        }
-
-        long cvCount = cvUploadRepository.countByUser(user);
-        if (cvCount >= 3) {
-            throw new FileValidationException("Bir kullanıcı en fazla 3 CV yükleyebilir.");
-        }
-
-        boolean alreadyExists = cvUploadRepository.existsByUserAndFileName(user, file.getOriginalFilename());
-        if (alreadyExists) {
-            throw new FileValidationException("Aynı isimde bir dosya zaten yüklendi. Lütfen dosya adını değiştirin.");
-        }
-
-        String fileName = file.getOriginalFilename();
-        assert fileName != null;
-        Path filePath = this.uploadPath.resolve(fileName);
-
-        try {
-            if (!Files.exists(this.uploadPath)) {
-                Files.createDirectories(this.uploadPath);
-            }
-            Files.copy(file.getInputStream(), filePath);
-        } catch (IOException e) {
-            throw new FileStorageException("Dosya yüklenirken hata oluştu.", e);
-        }
-
-        CvUpload cvUpload = new CvUpload();
-        cvUpload.setFileName(fileName);
-        cvUpload.setFileType(file.getContentType());
-        cvUpload.setFilePath(filePath.toString());
-        cvUpload.setFileSize(file.getSize());
-        cvUpload.setUploadDate(LocalDateTime.now());
-        cvUpload.setUser(user);
-
-        cvUploadRepository.save(cvUpload);
+        CvUpload cvUpload = cvUploadService.upload(user, file);
 
         return ResponseEntity.ok(cvUpload);
     }
 
     @GetMapping("/user/my-cvs")
-    public ResponseEntity<List<CvUpload>> getUserCvs(Authentication authentication) throws UserNotFoundException {
+    public ResponseEntity<CursorPage<CvUploadSummary>> getUserCvs(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int limit,
+                                                                  Authentication authentication) throws UserNotFoundException {
         String userEmail = authentication.getName();
-        User user = userRepository.findByEmail(userEmail)
+        User user = userLookupService.findByEmail(userEmail)
                 .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
 
-        List<CvUpload> cvs = cvUploadRepository.findByUser(user);
+        CursorPage<CvUploadSummary> cvs = cvUploadService.listByUser(user, cursor, limit);
         return ResponseEntity.ok(cvs);
     }
 
+    /**
+     * Bir CV kaydının içeriği değişmez: içerik özeti güçlü ETag olur, tarayıcı önbelleği süresiz tutabilir ve
+     * If-None-Match eşleşirse dosyaya dokunmadan 304 döner. Yerel dosyalar Range isteklerini destekler;
+     * Tomcat sendfile sunuyorsa tam dosya ve tek aralık çekirdekte kopyalanmadan gönderilir.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Resource> downloadCv(@PathVariable Long id, Authentication authentication) {
-        String userEmail = authentication.getName();
+    public ResponseEntity<Resource> downloadCv(@PathVariable Long id, Authentication authentication,
+                                               HttpServletRequest request) {
+        CvUpload cvUpload = cvUploadService.getOwnedCv(id, authentication.getName());
 
-        CvUpload cvUpload = cvUploadRepository.findById(id)
-                .orElseThrow(() -> new CvNotFoundException("CV bulunamadı."));
+        String etag = cvUpload.getContentHash() != null ? "\"" + cvUpload.getContentHash() + "\"" : null;
+        if (etag != null && noneMatch(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
 
-        if (!cvUpload.getUser().getEmail().equals(userEmail)) {
-            throw new UnauthorizedAccessException("Bu CV'ye erişim yetkiniz yok.");
+        // Nesne deposu destekliyorsa dosya uygulama üzerinden akıtılmaz, istemci doğrudan depodan indirir
+        Optional<URI> presigned = cvBlobStore.presignedDownloadUrl(cvUpload);
+        if (presigned.isPresent()) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(presigned.get())
+                    .cacheControl(CacheControl.noStore())
+                    .build();
         }
 
-        try {
-            Path filePath = Paths.get(cvUpload.getFilePath());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(mediaTypeOf(cvUpload))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(cvUpload.getFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString());
+        if (etag != null) {
+            response.eTag(etag).cacheControl(IMMUTABLE);
+        }
 
-            if (Files.notExists(filePath) || !Files.isReadable(filePath)) {
-                throw new FileStorageException("Dosya bulunamadı veya okunabilir değil.");
+        Optional<Path> localPath = cvBlobStore.localPath(cvUpload);
+        if (localPath.isEmpty()) {
+            try {
+                return response.body(new InputStreamResource(cvBlobStore.open(cvUpload)));
+            } catch (IOException e) {
+                throw new FileStorageException("Dosya bulunamadı veya okunabilir değil.", e);
             }
+        }
 
-            Resource resource = new UrlResource(filePath.toUri());
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + "\"")
-                    .body(resource);
-        } catch (MalformedURLException e) {
-            throw new FileStorageException("Dosya yolu geçersiz.", e);
+        Path path = localPath.get();
+        if (!Files.isReadable(path)) {
+            throw new FileStorageException("Dosya bulunamadı veya okunabilir değil.");
+        }
+        ResponseEntity<Resource> sendfile = sendfile(request, path, etag, response);
+        if (sendfile != null) {
+            return sendfile;
         }
+        // Çoklu aralık, HEAD ve sendfile olmayan ortamlar: Range işleme (206/416) Spring'in ResourceRegion desteğiyle
+        return response.body(new FileSystemResource(path));
     }
 
-    @DeleteMapping("/delete/{id}")
-    public ResponseEntity<String> deleteCv(@PathVariable Long id, Authentication authentication) {
-        String userEmail = authentication.getName();
+    private ResponseEntity<Resource> sendfile(HttpServletRequest request, Path path, String etag,
+                                              ResponseEntity.BodyBuilder response) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) || !"GET".equals(request.getMethod())) {
+            return null;
+        }
+        long length;
+        List<HttpRange> ranges;
+        try {
+            length = Files.size(path);
+            ranges = ifRangeMatches(request, etag)
+                    ? HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE))
+                    : List.of();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.size() > 1) {
+            return null;
+        }
 
-        CvUpload cvUpload = cvUploadRepository.findById(id)
-                .orElseThrow(() -> new CvNotFoundException("CV bulunamadı."));
+        long start = 0;
+        long end = length;
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            response.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+
+        // Gövde yazılmaz; Tomcat dosyayı soket'e doğrudan gönderir
+        request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+        return response.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentLength(end - start)
+                .build();
+    }
 
-        if (!cvUpload.getUser().getEmail().equals(userEmail)) {
-            throw new UnauthorizedAccessException("Bu CV'yi silme yetkiniz yok.");
+    // Zayıf karşılaştırma (RFC 9110): W/ öneki yok sayılır
+    private static boolean noneMatch(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
         }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Range, istemcideki kopya güncel değilse aralığı geçersiz kılar ve tüm dosya gönderilir
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
 
+    private static MediaType mediaTypeOf(CvUpload cvUpload) {
         try {
-            evaluationRepository.deleteByCvUpload(cvUpload);
-            Path filePath = Paths.get(cvUpload.getFilePath());
-            Files.deleteIfExists(filePath);
-            cvUploadRepository.delete(cvUpload);
-            return ResponseEntity.ok("CV başarıyla silindi.");
-        } catch (IOException e) {
-            throw new FileStorageException("CV silme sırasında hata oluştu.", e);
+            return MediaType.parseMediaType(cvUpload.getFileType());
+        } catch (RuntimeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
         }
     }
-}
\ No newline at end of file
+
+    @DeleteMapping("/delete/{id}")
+    public ResponseEntity<String> deleteCv(@PathVariable Long id, Authentication authentication) {
+        cvUploadService.deleteCv(id, authentication.getName());
+        return ResponseEntity.ok("CV başarıyla silindi.");
+    }
+}
@@ -1,14 +1,28 @@
 package com.cvanalyzer.controllers;
 
+import com.cvanalyzer.dtos.AnalysisStreamEvent;
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.dtos.EvaluationSummary;
+import com.cvanalyzer.entities.AnalysisJob;
 import com.cvanalyzer.entities.Evaluation;
 import com.cvanalyzer.exceptions.UserNotFoundException;
+import com.cvanalyzer.llm.LlmPriority;
+import com.cvanalyzer.services.AnalysisJobService;
 import com.cvanalyzer.services.EvaluationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.Map;
 
 @RestController
@@ -16,24 +30,79 @@ import java.util.Map;
 public class EvaluationController {
 
     private final EvaluationService service;
+    private final AnalysisJobService jobService;
+    private final Duration streamTimeout;
 
-    public EvaluationController(EvaluationService service) {
+    public EvaluationController(EvaluationService service,
+                                AnalysisJobService jobService,
+                                @Value("${cvanalyzer.analysis.stream-timeout:120s}") Duration streamTimeout) {
         this.service = service;
+        this.jobService = jobService;
+        this.streamTimeout = streamTimeout;
     }
 
     @PostMapping("/analyze/{cvId}")
-    public ResponseEntity<Evaluation> analyzeCv(@PathVariable Long cvId, Authentication authentication) throws UserNotFoundException, IOException {
+    public ResponseEntity<?> analyzeCv(@PathVariable Long cvId,
+                                       @RequestParam(defaultValue = "false") boolean async,
+                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                       Authentication authentication) throws UserNotFoundException, IOException {
         String userEmail =  authentication.getName();
 
-        Evaluation evaluation = service.analyzeCvAndVerifyUser(cvId, userEmail);
+        if (async) {
+            AnalysisJob job = jobService.submit(cvId, userEmail, idempotencyKey);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/api/v1/evaluations/jobs/" + job.getId()))
+                    .body(job);
+        }
+
+        Evaluation evaluation = service.analyzeCvAndVerifyUser(cvId, userEmail, idempotencyKey, LlmPriority.INTERACTIVE);
         return ResponseEntity.ok(evaluation);
     }
 
+    /**
+     * Analizi Server-Sent Events ile yayınlar: model çıktısı geldikçe "token" olayları, değerlendirme
+     * kaydedildiğinde tek bir "result" olayı, hata durumunda "error" olayı gönderilir.
+     * İstek thread'i hemen serbest bırakılır; olaylar boundedElastic üzerinde yazılır.
+     */
+    @GetMapping(value = "/analyze/{cvId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalysis(@PathVariable Long cvId,
+                                     @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                     Authentication authentication) throws UserNotFoundException {
+        Flux<AnalysisStreamEvent> events = service.streamAnalysis(cvId, authentication.getName(), idempotencyKey);
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Disposable subscription = events
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        event -> send(emitter, event.name(), event.data()),
+                        error -> {
+                            try {
+                                emitter.send(SseEmitter.event().name("error").data(Map.of("message", String.valueOf(error.getMessage()))));
+                                emitter.complete();
+                            } catch (IOException | IllegalStateException e) {
+                                emitter.completeWithError(error);
+                            }
+                        },
+                        emitter::complete);
+
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return emitter;
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<AnalysisJob> getJob(@PathVariable String jobId, Authentication authentication) {
+        return ResponseEntity.ok(jobService.getJob(jobId, authentication.getName()));
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Evaluation>> getUserEvaluations(Authentication authentication) throws UserNotFoundException {
+    public ResponseEntity<CursorPage<EvaluationSummary>> getUserEvaluations(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "20") int limit,
+                                                                            Authentication authentication) throws UserNotFoundException {
         String  userEmail =  authentication.getName();
 
-        List<Evaluation> evaluations = service.getByUserEmail(userEmail);
+        CursorPage<EvaluationSummary> evaluations = service.getByUserEmail(userEmail, cursor, limit);
 
         return ResponseEntity.ok(evaluations);
     }
@@ -54,4 +123,13 @@ public class EvaluationController {
 
         return ResponseEntity.noContent().build();
     }
+
+    private static void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapattı; akış iptal edilir
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.cvanalyzer.controllers;
+
+import com.cvanalyzer.dtos.UploadSessionRequest;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.UploadSession;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.FileStorageException;
+import com.cvanalyzer.exceptions.FileValidationException;
+import com.cvanalyzer.exceptions.UserNotFoundException;
+import com.cvanalyzer.services.ResumableUploadService;
+import com.cvanalyzer.services.UserLookupService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Parça parça CV yükleme. Akış: {@code POST /api/cv/uploads} ile oturum açılır, dosya parçaları
+ * {@code PUT /api/cv/uploads/{id}} ile {@code Upload-Offset} başlığındaki konuma gönderilir, bağlantı koparsa
+ * {@code HEAD /api/cv/uploads/{id}} ile alınan konum öğrenilip devam edilir, en sonda
+ * {@code POST /api/cv/uploads/{id}/complete} çağrılır.
+ */
+@RestController
+@RequestMapping("/api/cv/uploads")
+public class ResumableUploadController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final ResumableUploadService resumableUploadService;
+    private final UserLookupService userLookupService;
+
+    public ResumableUploadController(ResumableUploadService resumableUploadService, UserLookupService userLookupService) {
+        this.resumableUploadService = resumableUploadService;
+        this.userLookupService = userLookupService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadSession> createSession(@RequestBody UploadSessionRequest request,
+                                                       Authentication authentication) throws UserNotFoundException {
+        UploadSession session = resumableUploadService.create(currentUser(authentication), request);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(session.getId())
+                .toUri();
+        return ResponseEntity.created(location)
+                .header(UPLOAD_OFFSET, "0")
+                .header(UPLOAD_LENGTH, String.valueOf(session.getTotalSize()))
+                .body(session);
+    }
+
+    // HEAD istekleri de buraya düşer; istemci yalnızca Upload-Offset başlığına bakabilir
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSession> getSession(@PathVariable String id, Authentication authentication) {
+        UploadSession session = resumableUploadService.getSession(id, authentication.getName());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header(UPLOAD_OFFSET, String.valueOf(session.getReceivedBytes()))
+                .header(UPLOAD_LENGTH, String.valueOf(session.getTotalSize()))
+                .body(session);
+    }
+
+    // Gövde multipart değil, ham baytlardır; Tomcat'te ara dosyaya alınmadan doğrudan yerine yazılır
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> uploadChunk(@PathVariable String id,
+                                            @RequestHeader(value = UPLOAD_OFFSET, required = false) Long offset,
+                                            HttpServletRequest request,
+                                            Authentication authentication) {
+        if (offset == null) {
+            throw new FileValidationException("Upload-Offset başlığı gerekli.");
+        }
+        long received;
+        try (InputStream body = request.getInputStream()) {
+            received = resumableUploadService.writeChunk(id, authentication.getName(), offset, body);
+        } catch (IOException e) {
+            throw new FileStorageException("Parça okunamadı.", e);
+        }
+        return ResponseEntity.noContent()
+                .header(UPLOAD_OFFSET, String.valueOf(received))
+                .build();
+    }
+
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<CvUpload> complete(@PathVariable String id, Authentication authentication) throws UserNotFoundException {
+        return ResponseEntity.ok(resumableUploadService.complete(id, currentUser(authentication)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abort(@PathVariable String id, Authentication authentication) {
+        resumableUploadService.abort(id, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    private User currentUser(Authentication authentication) throws UserNotFoundException {
+        return userLookupService.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
+    }
+}
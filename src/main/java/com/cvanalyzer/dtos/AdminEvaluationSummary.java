@@ -0,0 +1,16 @@
+package com.cvanalyzer.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Yönetici değerlendirme listesinin satırı. Uzun metin alanları (özet, öneriler) listede okunmaz.
+ */
+public record AdminEvaluationSummary(Long id,
+                                     double score,
+                                     String evaluationType,
+                                     LocalDateTime createdAt,
+                                     Long cvId,
+                                     String cvFileName,
+                                     Long userId,
+                                     String userEmail) {
+}
@@ -0,0 +1,22 @@
+package com.cvanalyzer.dtos;
+
+import com.cvanalyzer.entities.Evaluation;
+
+import java.util.Map;
+
+/**
+ * Streaming analiz uç noktasının yayınladığı SSE olayı.
+ *
+ * @param name olay adı: "token" (model çıktısından bir parça) veya "result" (kaydedilen değerlendirme)
+ * @param data olay gövdesi, JSON olarak yazılır
+ */
+public record AnalysisStreamEvent(String name, Object data) {
+
+    public static AnalysisStreamEvent token(String text) {
+        return new AnalysisStreamEvent("token", Map.of("text", text));
+    }
+
+    public static AnalysisStreamEvent result(Evaluation evaluation) {
+        return new AnalysisStreamEvent("result", evaluation);
+    }
+}
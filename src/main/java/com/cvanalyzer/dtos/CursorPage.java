@@ -0,0 +1,10 @@
+package com.cvanalyzer.dtos;
+
+import java.util.List;
+
+/**
+ * Keyset sayfalamalı liste yanıtı. {@code nextCursor} sonraki isteğe {@code cursor} olarak aynen geri gönderilir;
+ * son sayfada {@code null}'dır.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
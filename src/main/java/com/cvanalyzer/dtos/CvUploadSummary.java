@@ -0,0 +1,13 @@
+package com.cvanalyzer.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kullanıcının CV listesinin satırı (bkz. CvUploadRepository#findSummariesByUserId).
+ */
+public record CvUploadSummary(Long id,
+                              String fileName,
+                              String fileType,
+                              Long fileSize,
+                              LocalDateTime uploadDate) {
+}
@@ -0,0 +1,7 @@
+package com.cvanalyzer.dtos;
+
+// Yönetici listesinin sıralaması; ikisi de azalan sırada ve eşitlikte id ile
+public enum EvaluationSort {
+    CREATED_AT,
+    SCORE
+}
@@ -0,0 +1,17 @@
+package com.cvanalyzer.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Değerlendirme listesinin satırı. Tek sorguda, yalnızca bu sütunlar okunarak oluşturulur
+ * (bkz. EvaluationRepository#findSummariesByUserId).
+ */
+public record EvaluationSummary(Long id,
+                                double score,
+                                String analysisSummary,
+                                String recommendations,
+                                LocalDateTime createdAt,
+                                String evaluationType,
+                                Long cvId,
+                                String cvFileName) {
+}
@@ -0,0 +1,12 @@
+package com.cvanalyzer.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class UploadSessionRequest {
+    private String fileName;
+    private String fileType;
+    private long fileSize;
+}
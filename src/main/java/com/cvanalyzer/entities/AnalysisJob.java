@@ -0,0 +1,41 @@
+package com.cvanalyzer.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalysisJob {
+
+    @Id
+    private String id;
+
+    private Long cvId;
+
+    private String userEmail;
+
+    @Column(length = 128)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    private Long evaluationId;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
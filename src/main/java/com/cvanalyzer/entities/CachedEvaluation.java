@@ -0,0 +1,37 @@
+package com.cvanalyzer.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "evaluation_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CachedEvaluation {
+
+    // SHA-256(normalize edilmiş CV metni + prompt versiyonu + model adı), hex
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    private double score;
+
+    @Column(length = 3000)
+    private String summary;
+
+    @Column(length = 3000)
+    private String recommendations;
+
+    private String model;
+
+    private String promptVersion;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+package com.cvanalyzer.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * İçerik adresli CV dosyası. Aynı içerikteki yüklemeler tek dosyayı paylaşır; {@code refCount} bu dosyayı
+ * gösteren CvUpload kaydı sayısıdır ve sıfıra inince dosya silinir.
+ */
+@Entity
+@Table(name = "cv_blob")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CvBlob {
+
+    // Dosya içeriğinin SHA-256 özeti, hex
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    private long size;
+
+    private int refCount;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,54 @@
+package com.cvanalyzer.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CvText {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cv_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    @ToString.Exclude
+    private CvUpload cvUpload;
+
+    // Metin sıkıştırılmış olarak saklanır (bkz. CompressedTextConverter)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "text_gz", length = 16_777_215)
+    @ToString.Exclude
+    private String text;
+
+    // Çıkarılan metnin SHA-256 özeti, hex
+    @Column(length = 64)
+    private String contentHash;
+
+    private Integer characterCount;
+
+    private Integer pageCount;
+
+    // Metin, karakter bütçesine ulaşıldığı için kesildiyse true
+    private boolean truncated;
+
+    @Column(length = 16)
+    private String language;
+
+    private LocalDateTime extractedAt;
+}
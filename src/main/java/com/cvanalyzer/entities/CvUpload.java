@@ -1,22 +1,34 @@
 package com.cvanalyzer.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+// Aynı kullanıcıda aynı dosya adı tek olabilir; kontrol, yüklemeyle aynı insert'te veritabanında yapılır
+@Table(uniqueConstraints = @UniqueConstraint(name = CvUpload.USER_FILE_NAME_CONSTRAINT, columnNames = {"user_id", "file_name"}),
+        // Kullanıcının CV listesi keyset sayfalıdır (bkz. CvUploadRepository#findSummariesByUserId)
+        indexes = @Index(name = "idx_cv_upload_user_date", columnList = "user_id, upload_date, id"))
+// Evaluation'dan lazy proxy olarak gelirse Hibernate'in iç alanları yazılmaz
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class CvUpload {
 
+    public static final String USER_FILE_NAME_CONSTRAINT = "uk_cv_upload_user_file_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -27,12 +39,20 @@ public class CvUpload {
 
     private String filePath;
 
+    // İçerik adresli blob'un SHA-256 özeti (bkz. CvBlob); eski kayıtlarda null, dosya filePath'tedir
+    @Column(length = 64)
+    private String contentHash;
+
     private Long fileSize;
 
     private LocalDateTime uploadDate;
 
-    @ManyToOne
+    // Sahiplik kontrolü için yalnızca id gerekir; kullanıcı satırı (parola özeti dahil) yanıta yazılmaz
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @OneToMany(mappedBy = "cvUpload", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -1,36 +1,61 @@
 package com.cvanalyzer.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+// Keyset sayfalı listeler için: kullanıcının listesi, yönetici listesi tarihe ve puana göre
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_evaluation_cv", columnNames = "cv_id"),
+        indexes = {
+                @Index(name = "idx_evaluation_user_created", columnList = "user_id, created_at, id"),
+                @Index(name = "idx_evaluation_created", columnList = "created_at, id"),
+                @Index(name = "idx_evaluation_score", columnList = "score, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Evaluation {
 
+    // Model metinleri EvaluationResponseParser'da bu sınırın altında kesilir
+    public static final int TEXT_COLUMN_LENGTH = 3000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private double score;
 
-    @Column(length = 3000)
+    @Column(length = TEXT_COLUMN_LENGTH)
     private String analysisSummary;
 
+    @Column(length = TEXT_COLUMN_LENGTH)
+    private String recommendations;
+
     private LocalDateTime createdAt;
 
     private String evaluationType;
 
-    @ManyToOne
+    // İstemcinin gönderdiği Idempotency-Key; aynı anahtarla tekrar deneme kayıtlı sonucu alır
+    @JsonIgnore
+    @Column(length = 128)
+    private String idempotencyKey;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
-    @ManyToOne
+    // Tek değerlendirme dönen sorgular CV'yi entity graph ile birlikte yükler (bkz. EvaluationRepository)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cv_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private CvUpload cvUpload;
 
     @PrePersist
@@ -0,0 +1,8 @@
+package com.cvanalyzer.entities;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,39 @@
+package com.cvanalyzer.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parça parça yüklenen bir CV. Parçalar sunucuda tek geçici dosyaya konumlarına yazılır; {@code receivedBytes}
+ * baştan itibaren kesintisiz alınmış bayt sayısıdır ve istemci yarıda kalan yüklemeye buradan devam eder.
+ */
+@Entity
+@Table(name = "upload_session")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    private String id;
+
+    private String userEmail;
+
+    private String fileName;
+
+    private String fileType;
+
+    private long totalSize;
+
+    private long receivedBytes;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+}
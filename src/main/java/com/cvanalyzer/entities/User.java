@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -32,14 +34,25 @@ public class User {
     private String token;
 
 
+    // Kullanıcı önbellekte oturumdan bağımsız tutulduğu için lazy koleksiyonlar equals/hashCode/toString dışında
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<CvUpload> cvUploads;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Evaluation> evaluations;
 
     @Enumerated(EnumType.STRING)
     private Role role = Role.USER;
+
+    // Yüklü CV sayısı; yalnızca UserRepository'deki koşullu güncellemelerle değişir, entity kaydı üzerine yazmaz.
+    // Bu sütundan önce oluşturulmuş kullanıcılarda null'dır ve ilk yüklemede hesaplanır.
+    @Column(name = "cv_count", updatable = false)
+    @JsonIgnore
+    private Integer cvCount = 0;
 }
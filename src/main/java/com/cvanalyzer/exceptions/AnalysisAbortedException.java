@@ -0,0 +1,11 @@
+package com.cvanalyzer.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // HTTP 503
+public class AnalysisAbortedException extends RuntimeException {
+    public AnalysisAbortedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cvanalyzer.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class AnalysisJobNotFoundException extends RuntimeException {
+    public AnalysisJobNotFoundException(String message) {
+        super(message);
+    }
+}
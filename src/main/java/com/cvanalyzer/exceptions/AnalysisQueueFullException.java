@@ -0,0 +1,11 @@
+package com.cvanalyzer.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // HTTP 503
+public class AnalysisQueueFullException extends RuntimeException {
+    public AnalysisQueueFullException(String message) {
+        super(message);
+    }
+}
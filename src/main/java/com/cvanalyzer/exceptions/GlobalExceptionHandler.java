@@ -1,5 +1,6 @@
 package com.cvanalyzer.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -48,6 +49,52 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Dosya işlemi hatası", ex.getMessage(), null);
     }
 
+    @ExceptionHandler(AnalysisJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleAnalysisJobNotFound(AnalysisJobNotFoundException ex) {
+        return buildResponse(HttpStatus.NOT_FOUND, "Analiz işi bulunamadı", ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(AnalysisQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleAnalysisQueueFull(AnalysisQueueFullException ex) {
+        return withRetryAfter(buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Servis meşgul", ex.getMessage(), null), 30);
+    }
+
+    @ExceptionHandler(AnalysisAbortedException.class)
+    public ResponseEntity<Map<String, Object>> handleAnalysisAborted(AnalysisAbortedException ex) {
+        return withRetryAfter(buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Analiz yarıda kaldı", ex.getMessage(), null), 1);
+    }
+
+    @ExceptionHandler(LlmUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleLlmUnavailable(LlmUnavailableException ex) {
+        return withRetryAfter(buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Yapay zeka servisi kullanılamıyor", ex.getMessage(), null),
+                ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(MalformedLlmResponseException.class)
+    public ResponseEntity<Map<String, Object>> handleMalformedLlmResponse(MalformedLlmResponseException ex) {
+        return withRetryAfter(buildResponse(HttpStatus.BAD_GATEWAY, "Geçersiz yapay zeka yanıtı", ex.getMessage(), null), 5);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return withRetryAfter(buildResponse(HttpStatus.TOO_MANY_REQUESTS, "Çok fazla istek", ex.getMessage(), null), 1);
+    }
+
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadSessionNotFound(UploadSessionNotFoundException ex) {
+        return buildResponse(HttpStatus.NOT_FOUND, "Yükleme oturumu bulunamadı", ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(UploadOffsetMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadOffsetMismatch(UploadOffsetMismatchException ex) {
+        return buildResponse(HttpStatus.CONFLICT, "Yükleme konumu uyuşmuyor", ex.getMessage(), null);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, "Geçersiz sayfa imleci", ex.getMessage(), null);
+    }
+
     // Daha genel RuntimeException'ları burada yakalayın
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleGenericRuntimeException(RuntimeException ex) {
@@ -60,6 +107,12 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Beklenmeyen bir hata oluştu", ex.getMessage(), null);
     }
 
+    private ResponseEntity<Map<String, Object>> withRetryAfter(ResponseEntity<Map<String, Object>> response, long seconds) {
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(response.getBody());
+    }
+
     // Standart yanıt formatını oluşturan yardımcı metot
     private ResponseEntity<Map<String, Object>> buildResponse(HttpStatus status, String error, String message, Map<String, String> errors) {
         Map<String, Object> body = new HashMap<>();
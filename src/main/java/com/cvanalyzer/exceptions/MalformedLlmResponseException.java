@@ -0,0 +1,15 @@
+package com.cvanalyzer.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_GATEWAY) // HTTP 502
+public class MalformedLlmResponseException extends RuntimeException {
+    public MalformedLlmResponseException(String message) {
+        super(message);
+    }
+
+    public MalformedLlmResponseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
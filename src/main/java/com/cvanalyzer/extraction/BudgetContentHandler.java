@@ -0,0 +1,66 @@
+package com.cvanalyzer.extraction;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Metni en fazla {@code maxChars} karaktere kadar biriktirir ve süre sınırını her SAX olayında kontrol eder.
+ * Bütçe dolduğunda ya da süre aşıldığında ayrıştırmayı bir {@link SAXException} ile durdurur.
+ */
+class BudgetContentHandler extends DefaultHandler {
+
+    private final StringBuilder text;
+    private final int maxChars;
+    private final long deadlineNanos;
+
+    BudgetContentHandler(int maxChars, long deadlineNanos) {
+        this.text = new StringBuilder(Math.min(maxChars, 8192));
+        this.maxChars = maxChars;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        checkDeadline();
+        int remaining = maxChars - text.length();
+        if (length > remaining) {
+            text.append(ch, start, remaining);
+            throw new LimitReachedException(false);
+        }
+        text.append(ch, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        characters(ch, start, length);
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, org.xml.sax.Attributes atts) throws SAXException {
+        checkDeadline();
+    }
+
+    String getText() {
+        return text.toString();
+    }
+
+    private void checkDeadline() throws SAXException {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new LimitReachedException(true);
+        }
+    }
+
+    static final class LimitReachedException extends SAXException {
+
+        private final boolean timeout;
+
+        LimitReachedException(boolean timeout) {
+            super(timeout ? "Belge ayrıştırma süresi aşıldı" : "Karakter bütçesine ulaşıldı");
+            this.timeout = timeout;
+        }
+
+        boolean isTimeout() {
+            return timeout;
+        }
+    }
+}
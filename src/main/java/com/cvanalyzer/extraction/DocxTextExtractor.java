@@ -0,0 +1,80 @@
+package com.cvanalyzer.extraction;
+
+import org.apache.poi.xwpf.usermodel.IBody;
+import org.apache.poi.xwpf.usermodel.IBodyElement;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFHeaderFooter;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Tika katmanını atlayıp POI ile DOCX'ten metin çıkarır. Belge gövdesi (paragraflar ve tablo hücreleri) ile
+ * üst/alt bilgiler sırayla {@link PdfTextExtractor.BoundedWriter}'a yazılır; bütçe dolunca yürüyüş durur. Süre
+ * sınırı her paragrafta kontrol edilir. {@code XWPFWordExtractor.getText()} tüm metni önce bellekte kurduğu
+ * için kullanılmaz.
+ */
+class DocxTextExtractor {
+
+    private DocxTextExtractor() {
+    }
+
+    static ExtractionResult extract(InputStream inputStream, int maxChars, long deadlineNanos) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(inputStream)) {
+            PdfTextExtractor.BoundedWriter out = new PdfTextExtractor.BoundedWriter(maxChars);
+            try {
+                for (XWPFHeaderFooter header : document.getHeaderList()) {
+                    writeBody(header, out, deadlineNanos);
+                }
+                writeBody(document, out, deadlineNanos);
+                for (XWPFHeaderFooter footer : document.getFooterList()) {
+                    writeBody(footer, out, deadlineNanos);
+                }
+            } catch (PdfTextExtractor.BoundedWriter.BudgetReachedException e) {
+                // bütçe doldu, o ana kadarki metin yeterli
+            }
+
+            var properties = document.getProperties().getExtendedProperties().getUnderlyingProperties();
+            Integer pages = properties.isSetPages() ? properties.getPages() : null;
+            return new ExtractionResult(out.toString(), pages, out.isFull(), "docx");
+        }
+    }
+
+    private static void writeBody(IBody body, PdfTextExtractor.BoundedWriter out, long deadlineNanos) throws IOException {
+        for (IBodyElement element : body.getBodyElements()) {
+            if (element instanceof XWPFParagraph paragraph) {
+                checkDeadline(deadlineNanos);
+                out.write(paragraph.getText());
+                out.write('\n');
+            } else if (element instanceof XWPFTable table) {
+                writeTable(table, out, deadlineNanos);
+            }
+        }
+    }
+
+    // Hücreler sekmeyle, satırlar yeni satırla ayrılır (XWPFWordExtractor ile aynı düzen)
+    private static void writeTable(XWPFTable table, PdfTextExtractor.BoundedWriter out, long deadlineNanos) throws IOException {
+        for (XWPFTableRow row : table.getRows()) {
+            boolean first = true;
+            for (XWPFTableCell cell : row.getTableCells()) {
+                if (!first) {
+                    out.write('\t');
+                }
+                first = false;
+                writeBody(cell, out, deadlineNanos);
+            }
+            out.write('\n');
+        }
+    }
+
+    private static void checkDeadline(long deadlineNanos) throws InterruptedIOException {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new InterruptedIOException("DOCX ayrıştırma süresi aşıldı");
+        }
+    }
+}
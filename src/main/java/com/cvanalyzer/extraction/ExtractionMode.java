@@ -0,0 +1,8 @@
+package com.cvanalyzer.extraction;
+
+public enum ExtractionMode {
+    // Tika'nın tüm parser kayıt defteri (tika-parsers-standard-package) ile otomatik tespit
+    FULL,
+    // Yalnızca PDF, DOC ve DOCX parser'ları; PDF ve DOCX için doğrudan PDFBox/POI kullanılır
+    RESTRICTED
+}
@@ -0,0 +1,12 @@
+package com.cvanalyzer.extraction;
+
+/**
+ * Tek bir belgeden çıkarılan metin ve ilgili bilgiler.
+ *
+ * @param text      çıkarılan metin, en fazla karakter bütçesi kadar
+ * @param pageCount sayfa sayısı, belge formatı bildirmiyorsa null
+ * @param truncated metin karakter bütçesine ulaşıldığı için kesildiyse true
+ * @param format    metrik etiketi olarak kullanılan kısa format adı (pdf, doc, docx, other)
+ */
+public record ExtractionResult(String text, Integer pageCount, boolean truncated, String format) {
+}
@@ -0,0 +1,214 @@
+package com.cvanalyzer.extraction;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Tika katmanını atlayıp PDFBox ile doğrudan metin çıkarır.
+ * Uzun belgelerde sayfa aralıkları fork-join havuzunda paralel işlenir. PDDocument thread-safe olmadığından ilk
+ * aralık sayfa sayısı için açılan belgeyle çağıran thread'de, diğerleri kendi örnekleriyle havuzda çıkarılır.
+ * Karakter bütçesi aralıklar arasında paylaşılır: önceki aralıklar bütçeyi doldurduysa sonrakiler durur.
+ */
+class PdfTextExtractor {
+
+    private static final int MIN_PAGES_PER_TASK = 4;
+
+    private final ForkJoinPool pool;
+    private final int parallelMinPages;
+
+    PdfTextExtractor(ForkJoinPool pool, int parallelMinPages) {
+        this.pool = pool;
+        this.parallelMinPages = parallelMinPages;
+    }
+
+    ExtractionResult extract(byte[] pdf, int maxChars, long deadlineNanos) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            int pageCount = document.getNumberOfPages();
+            if (pageCount < parallelMinPages || taskCount(pageCount) < 2) {
+                BoundedWriter out = new BoundedWriter(maxChars);
+                strip(document, 1, pageCount, out, deadlineNanos);
+                return new ExtractionResult(out.toString(), pageCount, out.isFull(), "pdf");
+            }
+            return extractParallel(document, pdf, pageCount, maxChars, deadlineNanos);
+        }
+    }
+
+    private ExtractionResult extractParallel(PDDocument document, byte[] pdf, int pageCount, int maxChars, long deadlineNanos) throws IOException {
+        int tasks = taskCount(pageCount);
+        int pagesPerTask = (pageCount + tasks - 1) / tasks;
+        int ranges = (pageCount + pagesPerTask - 1) / pagesPerTask;
+        AtomicIntegerArray rangeChars = new AtomicIntegerArray(ranges);
+
+        List<ForkJoinTask<BoundedWriter>> parts = new ArrayList<>(ranges - 1);
+        try {
+            for (int range = 1; range < ranges; range++) {
+                int index = range;
+                int from = range * pagesPerTask + 1;
+                int to = Math.min(pageCount, from + pagesPerTask - 1);
+                parts.add(pool.submit(() -> {
+                    try (PDDocument own = PDDocument.load(pdf)) {
+                        BoundedWriter out = new BoundedWriter(maxChars, rangeChars, index);
+                        strip(own, from, to, out, deadlineNanos);
+                        return out;
+                    }
+                }));
+            }
+
+            BoundedWriter first = new BoundedWriter(maxChars, rangeChars, 0);
+            strip(document, 1, pagesPerTask, first, deadlineNanos);
+
+            StringBuilder text = new StringBuilder(Math.min(maxChars, 8192));
+            boolean truncated = append(text, first, maxChars);
+            for (int i = 0; i < parts.size() && !truncated; i++) {
+                BoundedWriter out = parts.get(i).get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                truncated = append(text, out, maxChars);
+            }
+            return new ExtractionResult(text.toString(), pageCount, truncated, "pdf");
+        } catch (TimeoutException e) {
+            throw new InterruptedIOException("PDF ayrıştırma süresi aşıldı");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF ayrıştırma kesildi");
+        } finally {
+            parts.forEach(part -> part.cancel(true));
+        }
+    }
+
+    // Aralığın metnini bütçe kadar ekler; bütçe dolduysa true döner
+    private static boolean append(StringBuilder text, BoundedWriter out, int maxChars) {
+        String chunk = out.toString();
+        int remaining = maxChars - text.length();
+        if (chunk.length() > remaining || out.isFull()) {
+            text.append(chunk, 0, Math.min(chunk.length(), remaining));
+            return true;
+        }
+        text.append(chunk);
+        return false;
+    }
+
+    private int taskCount(int pageCount) {
+        return Math.min(pool.getParallelism(), pageCount / MIN_PAGES_PER_TASK);
+    }
+
+    private static void strip(PDDocument document, int from, int to, BoundedWriter out, long deadlineNanos) throws IOException {
+        DeadlineStripper stripper = new DeadlineStripper(deadlineNanos);
+        stripper.setStartPage(from);
+        stripper.setEndPage(to);
+        try {
+            stripper.writeText(document, out);
+        } catch (BoundedWriter.BudgetReachedException e) {
+            // bütçe doldu, o ana kadarki metin yeterli
+        }
+    }
+
+    /**
+     * Her sayfa başında süre sınırını kontrol eder.
+     */
+    private static final class DeadlineStripper extends PDFTextStripper {
+
+        private final long deadlineNanos;
+
+        private DeadlineStripper(long deadlineNanos) throws IOException {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                throw new InterruptedIOException("PDF ayrıştırma süresi aşıldı");
+            }
+            super.startPage(page);
+        }
+    }
+
+    /**
+     * En fazla {@code maxChars} karakter tutan Writer; dolunca yazmayı bir istisna ile keser.
+     * Paralel çıkarmada her aralık yazdığı karakter sayısını paylaşılan diziye yayınlar ve kendinden önceki
+     * aralıkların o ana kadar yazdıklarını bütçeden düşer. Önceki aralıklar yalnızca büyüyebildiği için kesilen
+     * metin birleştirmede zaten kullanılmayacak kısımdır.
+     */
+    static final class BoundedWriter extends Writer {
+
+        private final StringBuilder text;
+        private final int maxChars;
+        private final AtomicIntegerArray rangeChars;
+        private final int range;
+        private boolean full;
+
+        BoundedWriter(int maxChars) {
+            this(maxChars, null, 0);
+        }
+
+        BoundedWriter(int maxChars, AtomicIntegerArray rangeChars, int range) {
+            this.text = new StringBuilder(Math.min(maxChars, 8192));
+            this.maxChars = maxChars;
+            this.rangeChars = rangeChars;
+            this.range = range;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            int remaining = maxChars - text.length() - charsBefore();
+            if (len > remaining) {
+                text.append(cbuf, off, Math.max(0, remaining));
+                publish();
+                full = true;
+                throw new BudgetReachedException();
+            }
+            text.append(cbuf, off, len);
+            publish();
+        }
+
+        private int charsBefore() {
+            int chars = 0;
+            for (int i = 0; rangeChars != null && i < range; i++) {
+                chars += rangeChars.get(i);
+            }
+            return chars;
+        }
+
+        private void publish() {
+            if (rangeChars != null) {
+                rangeChars.set(range, text.length());
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+
+        static final class BudgetReachedException extends IOException {
+            BudgetReachedException() {
+                super("Karakter bütçesine ulaşıldı");
+            }
+        }
+    }
+}
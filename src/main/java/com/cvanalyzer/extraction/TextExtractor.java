@@ -0,0 +1,197 @@
+package com.cvanalyzer.extraction;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.metadata.PagedText;
+import org.apache.tika.mime.MimeTypes;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.microsoft.OfficeParser;
+import org.apache.tika.parser.microsoft.ooxml.OOXMLParser;
+import org.apache.tika.parser.pdf.PDFParser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Uygulama genelinde paylaşılan, thread-safe metin çıkarma bileşeni.
+ * <p>
+ * Parser ilk ihtiyaçta bir kez oluşturulur. Her belge için çıkarılan metin {@code maxChars} ile sınırlandırılır;
+ * bütçe dolduğunda ayrıştırma durdurulur ve o ana kadarki metin döner. Süre sınırı her SAX olayında (PDF hızlı
+ * yolunda her sayfada, DOCX hızlı yolunda her paragrafta) kontrol edilir, aşılırsa {@link IOException} fırlatılır.
+ * Gömülü belgeler (resim, ek vb.) ayrıştırılmaz.
+ * <p>
+ * {@link ExtractionMode#RESTRICTED} modunda Tika yalnızca PDF, DOC ve DOCX parser'larıyla kurulur ve
+ * tespit için yalnızca MIME veritabanı kullanılır; PDF ve DOCX doğrudan PDFBox/POI ile okunur.
+ */
+@Component
+public class TextExtractor {
+
+    private final ExtractionMode mode;
+    private final Supplier<Parser> parser;
+    private final PdfTextExtractor pdfExtractor;
+    private final ForkJoinPool pdfPool;
+    private final int maxChars;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public TextExtractor(@Value("${cvanalyzer.extraction.mode:RESTRICTED}") ExtractionMode mode,
+                         @Value("${cvanalyzer.extraction.max-chars:20000}") int maxChars,
+                         @Value("${cvanalyzer.extraction.timeout:20s}") Duration timeout,
+                         @Value("${cvanalyzer.extraction.pdf-parallel-min-pages:12}") int pdfParallelMinPages,
+                         MeterRegistry meterRegistry) {
+        this.mode = mode;
+        // Parser ilk kullanımda (veya StartupInitializer'da) oluşturulur; context yenilemesini bekletmez
+        this.parser = SingletonSupplier.of(() -> mode == ExtractionMode.RESTRICTED ? restrictedParser() : new AutoDetectParser());
+        this.pdfPool = mode == ExtractionMode.RESTRICTED
+                ? new ForkJoinPool(Runtime.getRuntime().availableProcessors())
+                : null;
+        this.pdfExtractor = pdfPool != null ? new PdfTextExtractor(pdfPool, pdfParallelMinPages) : null;
+        this.maxChars = maxChars;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    TextExtractor(Parser parser, int maxChars, Duration timeout, MeterRegistry meterRegistry) {
+        this.mode = ExtractionMode.FULL;
+        this.parser = SingletonSupplier.of(parser);
+        this.pdfPool = null;
+        this.pdfExtractor = null;
+        this.maxChars = maxChars;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * CvUploadController'ın kabul ettiği üç format için Tika yapılandırması. Varsayılan kayıt defterinin
+     * aksine ServiceLoader ile yüzlerce parser/detector sınıfı yüklenmez.
+     */
+    static Parser restrictedParser() {
+        return new AutoDetectParser(MimeTypes.getDefaultMimeTypes(),
+                new PDFParser(),
+                new OOXMLParser(),
+                new OfficeParser());
+    }
+
+    public ExtractionResult extract(InputStream inputStream, String contentType) throws IOException {
+        String format = formatOf(contentType);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        ExtractionResult result;
+        try {
+            if (mode == ExtractionMode.RESTRICTED && format.equals("pdf")) {
+                result = pdfExtractor.extract(inputStream.readAllBytes(), maxChars, deadline);
+            } else if (mode == ExtractionMode.RESTRICTED && format.equals("docx")) {
+                result = DocxTextExtractor.extract(inputStream, maxChars, deadline);
+            } else {
+                result = extractWithTika(inputStream, contentType, format, deadline);
+            }
+        } catch (IOException e) {
+            record(format, "failed", start, 0);
+            throw e;
+        }
+
+        record(format, result.truncated() ? "truncated" : "complete", start, result.text().length());
+        return result;
+    }
+
+    public void initialize() {
+        parser.get();
+    }
+
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    public ExtractionMode getMode() {
+        return mode;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pdfPool != null) {
+            pdfPool.shutdownNow();
+        }
+    }
+
+    private ExtractionResult extractWithTika(InputStream inputStream, String contentType, String format, long deadline) throws IOException {
+        BudgetContentHandler budget = new BudgetContentHandler(maxChars, deadline);
+        Metadata metadata = new Metadata();
+        if (contentType != null) {
+            metadata.set(Metadata.CONTENT_TYPE, contentType);
+        }
+
+        boolean truncated = false;
+        try {
+            // Boş ParseContext: gömülü belgeler için parser tanımlı değil, bu yüzden atlanırlar
+            parser.get().parse(inputStream, new BodyContentHandler(budget), metadata, new ParseContext());
+        } catch (SAXException | TikaException e) {
+            BudgetContentHandler.LimitReachedException limit = findLimit(e);
+            if (limit == null) {
+                throw new IOException("Dosya içeriği okunurken bir hata oluştu.", e);
+            }
+            if (limit.isTimeout()) {
+                throw new IOException("Dosya içeriği " + timeout.toSeconds() + " saniye içinde okunamadı.", e);
+            }
+            truncated = true;
+        }
+
+        return new ExtractionResult(budget.getText(), metadata.getInt(PagedText.N_PAGES), truncated, format);
+    }
+
+    private void record(String format, String outcome, long start, int chars) {
+        Timer.builder("cv.extraction.latency")
+                .description("Belge başına metin çıkarma süresi")
+                .tag("format", format)
+                .tag("outcome", outcome)
+                .tag("mode", mode.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("cv.extraction.chars")
+                .description("Belge başına çıkarılan karakter sayısı")
+                .baseUnit("characters")
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(chars);
+    }
+
+    private static BudgetContentHandler.LimitReachedException findLimit(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof BudgetContentHandler.LimitReachedException limit) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    static String formatOf(String contentType) {
+        if (contentType == null) {
+            return "other";
+        }
+        return switch (contentType) {
+            case "application/pdf" -> "pdf";
+            case "application/msword" -> "doc";
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document" -> "docx";
+            default -> "other";
+        };
+    }
+}
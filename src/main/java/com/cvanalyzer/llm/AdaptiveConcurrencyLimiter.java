@@ -0,0 +1,71 @@
+package com.cvanalyzer.llm;
+
+/**
+ * LLM'e aynı anda gönderilen istek sayısını gözlenen gecikmeye göre ayarlayan AIMD sınırlayıcı.
+ * <p>
+ * Gecikme eşiğin altında kalan başarılı her çağrı, sınır doluluğu yarıyı geçmişse limiti 1 artırır.
+ * Eşiği aşan, zaman aşımına uğrayan veya 429/5xx ile dönen çağrılar limiti {@code backoffRatio} ile çarpar.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Geçersiz limit aralığı: " + minLimit + " <= " + initialLimit + " <= " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /** Çağrı başarıyla tamamlandı. */
+    public synchronized void onSuccess(long latencyNanos) {
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        inFlight--;
+    }
+
+    /** Çağrı, servisin aşırı yüklendiğini gösteren bir hatayla bitti (zaman aşımı, 429, 5xx). */
+    public synchronized void onDropped() {
+        decrease();
+        inFlight--;
+    }
+
+    /** Çağrı, servisin kapasitesiyle ilgisi olmayan bir nedenle bitti; limit değişmez. */
+    public synchronized void onIgnore() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, Math.floor(limit * backoffRatio));
+    }
+}
@@ -0,0 +1,112 @@
+package com.cvanalyzer.llm;
+
+import com.cvanalyzer.exceptions.MalformedLlmResponseException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Model yanıtındaki değerlendirme JSON'unu ara ağaç kurmadan, Jackson'ın streaming API'siyle doğrudan
+ * {@link LlmEvaluationResult}'a okur.
+ * <p>
+ * Model JSON'u çoğu zaman markdown kod bloğu veya açıklama metniyle sarar: okuma ilk '{' karakterinden
+ * başlar ve kök nesne kapandığında durur, sonrasındaki metin okunmaz. {@code summary} ve
+ * {@code recommendations} metin veya metin dizisi olarak gelebilir; dizi elemanları satırlara dönüştürülür.
+ */
+public class EvaluationResponseParser {
+
+    // Özet ve öneriler bu uzunlukta kesilir; sütunlara (Evaluation.TEXT_COLUMN_LENGTH) sığmalıdır
+    static final int MAX_TEXT_LENGTH = 2000;
+
+    private final JsonFactory jsonFactory;
+
+    public EvaluationResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public LlmEvaluationResult parse(String aiResponse) {
+        if (aiResponse == null) {
+            throw new MalformedLlmResponseException("Yapay zeka servisi boş yanıt döndü.");
+        }
+        int jsonStart = aiResponse.indexOf('{');
+        if (jsonStart == -1) {
+            throw new MalformedLlmResponseException("Yapay zeka yanıtında değerlendirme bulunamadı.");
+        }
+
+        Double score = null;
+        String summary = null;
+        String recommendations = null;
+
+        try (StringReader reader = new StringReader(aiResponse)) {
+            reader.skip(jsonStart);
+            try (JsonParser parser = jsonFactory.createParser(reader)) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "score" -> score = readScore(parser, value);
+                        case "summary" -> summary = readText(parser, value);
+                        case "recommendations" -> recommendations = readText(parser, value);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (parser.currentToken() != JsonToken.END_OBJECT) {
+                    throw new MalformedLlmResponseException("Yapay zeka yanıtı eksik veya hatalı JSON içeriyor.");
+                }
+            }
+        } catch (IOException e) {
+            throw new MalformedLlmResponseException("Yapay zeka yanıtı ayrıştırılamadı.", e);
+        }
+
+        if (score == null || score < 0 || score > 100 || summary == null || summary.isBlank()) {
+            throw new MalformedLlmResponseException("Yapay zeka yanıtında geçerli puan veya özet yok.");
+        }
+        return new LlmEvaluationResult(score, truncate(summary), truncate(recommendations));
+    }
+
+    private static Double readScore(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static String readText(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (value == JsonToken.START_ARRAY) {
+            StringBuilder lines = new StringBuilder();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                    if (!lines.isEmpty()) {
+                        lines.append('\n');
+                    }
+                    lines.append(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return lines.toString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static String truncate(String text) {
+        return text != null && text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+}
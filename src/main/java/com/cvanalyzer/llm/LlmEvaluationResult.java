@@ -0,0 +1,11 @@
+package com.cvanalyzer.llm;
+
+/**
+ * Model yanıtından okunan değerlendirme.
+ *
+ * @param score           0-100 arası puan
+ * @param summary         güçlü yönlerin madde işaretli özeti
+ * @param recommendations iyileştirme önerileri; model vermediyse {@code null}
+ */
+public record LlmEvaluationResult(double score, String summary, String recommendations) {
+}
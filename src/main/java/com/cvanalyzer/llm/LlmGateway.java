@@ -0,0 +1,240 @@
+package com.cvanalyzer.llm;
+
+import com.cvanalyzer.exceptions.LlmUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * LLM çağrıları için tek giriş noktası. Her deneme önce {@link LlmQuotaScheduler} üzerinden sağlayıcı
+ * kotasına kabul edilir, ardından sırasıyla devre kesiciden ve uyarlamalı eşzamanlılık
+ * sınırından geçer, süre sınırıyla çalışır ve geçici hatalarda (zaman aşımı, 429, 5xx, bağlantı hatası)
+ * jitter'lı üstel beklemeyle yeniden denenir.
+ * <p>
+ * Devre açıksa veya sınır doluysa çağrı beklemeden {@link LlmUnavailableException} (503) ile reddedilir.
+ * Streaming çağrılar istemciye parça gönderilmeye başlandığı için yeniden denenmez; süre sınırı
+ * iki parça arasındaki azami bekleme olarak uygulanır.
+ */
+@Component
+public class LlmGateway {
+
+    // Eşzamanlılık sınırı dolduğunda istemciye önerilen bekleme
+    private static final long LIMIT_RETRY_AFTER_SECONDS = 5;
+
+    private final Supplier<ChatClient> chatClient;
+    private final LlmQuotaScheduler quotaScheduler;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final MeterRegistry meterRegistry;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+    private final Counter retries;
+
+    @Autowired
+    public LlmGateway(ObjectProvider<ChatClient.Builder> chatClientBuilder,
+                      LlmQuotaScheduler quotaScheduler,
+                      MeterRegistry meterRegistry,
+                      @Value("${cvanalyzer.llm.timeout:60s}") Duration timeout,
+                      @Value("${cvanalyzer.llm.max-attempts:3}") int maxAttempts,
+                      @Value("${cvanalyzer.llm.retry-backoff:1s}") Duration retryBackoff,
+                      @Value("${cvanalyzer.llm.limiter.initial-limit:8}") int initialLimit,
+                      @Value("${cvanalyzer.llm.limiter.max-limit:32}") int maxLimit,
+                      @Value("${cvanalyzer.llm.limiter.latency-threshold:20s}") Duration latencyThreshold,
+                      @Value("${cvanalyzer.llm.breaker.window:20}") int breakerWindow,
+                      @Value("${cvanalyzer.llm.breaker.failure-rate:0.5}") double failureRate,
+                      @Value("${cvanalyzer.llm.breaker.open-duration:30s}") Duration openDuration) {
+        // ChatClient ilk çağrıda (veya StartupInitializer'da) oluşturulur
+        this(SingletonSupplier.of(() -> chatClientBuilder.getObject().build()), quotaScheduler,
+                new AdaptiveConcurrencyLimiter(initialLimit, 1, maxLimit, latencyThreshold.toNanos(), 0.9),
+                new CircuitBreaker(breakerWindow, Math.max(1, breakerWindow / 2), failureRate, openDuration),
+                timeout, maxAttempts, retryBackoff, meterRegistry);
+    }
+
+    LlmGateway(Supplier<ChatClient> chatClient, LlmQuotaScheduler quotaScheduler, AdaptiveConcurrencyLimiter limiter, CircuitBreaker circuitBreaker,
+               Duration timeout, int maxAttempts, Duration retryBackoff, MeterRegistry meterRegistry) {
+        this.chatClient = chatClient;
+        this.quotaScheduler = quotaScheduler;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.timeout = timeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("llm.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("LLM için geçerli eşzamanlılık sınırı")
+                .register(meterRegistry);
+        Gauge.builder("llm.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Şu anda süren LLM çağrısı sayısı")
+                .register(meterRegistry);
+        Gauge.builder("llm.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Devre kesici durumu: 0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(meterRegistry);
+        this.limitRejections = Counter.builder("llm.calls.rejected")
+                .tag("reason", "concurrency_limit")
+                .register(meterRegistry);
+        this.circuitRejections = Counter.builder("llm.calls.rejected")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        this.retries = Counter.builder("llm.calls.retries")
+                .description("Geçici hata nedeniyle yeniden denenen LLM çağrıları")
+                .register(meterRegistry);
+    }
+
+    public void initialize() {
+        chatClient.get();
+    }
+
+    public String call(String prompt, LlmPriority priority) {
+        return admit(priority, prompt)
+                .then(Mono.defer(() -> {
+                    Permit permit = acquire("call");
+                    return Mono.fromCallable(() -> chatClient.get().prompt().user(prompt).call().content())
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .timeout(timeout)
+                            .doOnSuccess(content -> permit.success())
+                            .doOnError(permit::failure)
+                            .doOnCancel(permit::ignore);
+                }))
+                .retryWhen(Retry.backoff(maxAttempts - 1, retryBackoff)
+                        .jitter(0.5)
+                        .filter(LlmGateway::isTransient)
+                        .doBeforeRetry(signal -> retries.increment())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .onErrorMap(LlmGateway::isTransient, this::unavailable)
+                .block();
+    }
+
+    public Flux<String> stream(String prompt, LlmPriority priority) {
+        return admit(priority, prompt)
+                .thenMany(Flux.defer(() -> {
+                    Permit permit = acquire("stream");
+                    return chatClient.get().prompt().user(prompt).stream().content()
+                            .timeout(timeout)
+                            .doOnComplete(permit::success)
+                            .doOnError(permit::failure)
+                            .doOnCancel(permit::ignore);
+                }))
+                .onErrorMap(LlmGateway::isTransient, this::unavailable);
+    }
+
+    // Kota beklemesi bloklayıcıdır; yeniden denemeler Reactor'ün parallel thread'lerinde tetiklendiği için
+    // her zaman boundedElastic üzerinde yapılır
+    private Mono<Void> admit(LlmPriority priority, String prompt) {
+        return Mono.<Void>fromRunnable(() -> quotaScheduler.admit(priority, prompt))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Permit acquire(String mode) {
+        if (!circuitBreaker.tryAcquire()) {
+            circuitRejections.increment();
+            throw new LlmUnavailableException("Yapay zeka servisi geçici olarak devre dışı. Lütfen daha sonra tekrar deneyin.",
+                    Math.max(1, circuitBreaker.retryAfter().toSeconds()));
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnore();
+            limitRejections.increment();
+            throw new LlmUnavailableException("Yapay zeka servisi şu anda yoğun. Lütfen daha sonra tekrar deneyin.",
+                    LIMIT_RETRY_AFTER_SECONDS);
+        }
+        return new Permit(mode);
+    }
+
+    private Throwable unavailable(Throwable e) {
+        long retryAfter = Math.max(LIMIT_RETRY_AFTER_SECONDS, circuitBreaker.retryAfter().toSeconds());
+        return new LlmUnavailableException("Yapay zeka servisi yanıt vermedi. Lütfen daha sonra tekrar deneyin.", retryAfter, e);
+    }
+
+    static boolean isTransient(Throwable e) {
+        if (e instanceof TimeoutException
+                || e instanceof TransientAiException
+                || e instanceof ResourceAccessException
+                || e instanceof WebClientRequestException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        // Spring AI'ın varsayılan hata işleyicisi tüm 4xx yanıtlarını "kalıcı" sayar; 429 bizim için geçicidir
+        return e instanceof NonTransientAiException && e.getMessage() != null && e.getMessage().startsWith("429");
+    }
+
+    /** Tek bir denemenin aldığı izin; sonucu sınırlayıcıya ve devre kesiciye bir kez bildirir. */
+    private final class Permit {
+
+        private final String mode;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String mode) {
+            this.mode = mode;
+        }
+
+        void success() {
+            if (released.compareAndSet(false, true)) {
+                long latency = System.nanoTime() - start;
+                limiter.onSuccess(latency);
+                circuitBreaker.onSuccess();
+                record("success", latency);
+            }
+        }
+
+        void failure(Throwable e) {
+            if (released.compareAndSet(false, true)) {
+                long latency = System.nanoTime() - start;
+                if (isTransient(e)) {
+                    limiter.onDropped();
+                    circuitBreaker.onFailure();
+                    record("dropped", latency);
+                } else {
+                    limiter.onIgnore();
+                    circuitBreaker.onIgnore();
+                    record("error", latency);
+                }
+            }
+        }
+
+        void ignore() {
+            if (released.compareAndSet(false, true)) {
+                limiter.onIgnore();
+                circuitBreaker.onIgnore();
+                record("cancelled", System.nanoTime() - start);
+            }
+        }
+
+        private void record(String outcome, long latencyNanos) {
+            Timer.builder("llm.call.latency")
+                    .description("Tek bir LLM denemesinin süresi")
+                    .tag("mode", mode)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.cvanalyzer.llm;
+
+/**
+ * LLM kotası için öncelik şeritleri. Sıralama önemlidir: önce tanımlanan şerit önce kabul edilir.
+ */
+public enum LlmPriority {
+    /** Kullanıcının yanıtı beklediği senkron ve streaming analizler. */
+    INTERACTIVE,
+    /** Asenkron işler ve toplu analizler. */
+    BACKGROUND
+}
@@ -0,0 +1,182 @@
+package com.cvanalyzer.llm;
+
+import com.cvanalyzer.exceptions.LlmUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sağlayıcının dakika başına token (TPM) ve istek (RPM) kotalarını iki token kovasıyla uygular.
+ * <p>
+ * Her çağrı, prompt uzunluğundan tahmin edilen token miktarı ve bir istek hakkı kadar kota tüketir;
+ * kota yetmiyorsa çağıran thread kovalar dolana kadar bekler. Daha öncelikli bir şeritte bekleyen
+ * çağrı varsa alt şerit kota alamaz. Şeridin azami bekleme süresi aşılırsa çağrı
+ * {@link LlmUnavailableException} ile reddedilir.
+ */
+@Component
+public class LlmQuotaScheduler {
+
+    // Yaklaşık değer: Gemini tokenizer'ı Türkçe/İngilizce metinde token başına ~4 karakter üretir
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final double tokensPerMinute;
+    private final double requestsPerMinute;
+    private final int responseTokenReserve;
+    private final Map<LlmPriority, Duration> maxWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition quotaChanged = lock.newCondition();
+    private final int[] waiting = new int[LlmPriority.values().length];
+    private double availableTokens;
+    private double availableRequests;
+    private long lastRefill;
+
+    private final Map<LlmPriority, Timer> waitTimers = new EnumMap<>(LlmPriority.class);
+    private final Map<LlmPriority, Counter> tokenCounters = new EnumMap<>(LlmPriority.class);
+    private final Map<LlmPriority, Counter> rejections = new EnumMap<>(LlmPriority.class);
+
+    @Autowired
+    public LlmQuotaScheduler(@Value("${cvanalyzer.llm.quota.tokens-per-minute:4000000}") int tokensPerMinute,
+                             @Value("${cvanalyzer.llm.quota.requests-per-minute:4000}") int requestsPerMinute,
+                             @Value("${cvanalyzer.llm.quota.response-token-reserve:1024}") int responseTokenReserve,
+                             @Value("${cvanalyzer.llm.quota.interactive-max-wait:30s}") Duration interactiveMaxWait,
+                             @Value("${cvanalyzer.llm.quota.background-max-wait:5m}") Duration backgroundMaxWait,
+                             MeterRegistry meterRegistry) {
+        this(tokensPerMinute, requestsPerMinute, responseTokenReserve,
+                Map.of(LlmPriority.INTERACTIVE, interactiveMaxWait, LlmPriority.BACKGROUND, backgroundMaxWait),
+                meterRegistry);
+    }
+
+    LlmQuotaScheduler(int tokensPerMinute, int requestsPerMinute, int responseTokenReserve,
+                      Map<LlmPriority, Duration> maxWait, MeterRegistry meterRegistry) {
+        this.tokensPerMinute = tokensPerMinute;
+        this.requestsPerMinute = requestsPerMinute;
+        this.responseTokenReserve = responseTokenReserve;
+        this.maxWait = new EnumMap<>(maxWait);
+        this.availableTokens = tokensPerMinute;
+        this.availableRequests = requestsPerMinute;
+        this.lastRefill = System.nanoTime();
+
+        for (LlmPriority priority : LlmPriority.values()) {
+            String lane = priority.name().toLowerCase();
+            waitTimers.put(priority, Timer.builder("llm.scheduler.wait")
+                    .description("LLM kotası için kuyrukta geçen süre")
+                    .tag("lane", lane)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            tokenCounters.put(priority, Counter.builder("llm.scheduler.tokens")
+                    .description("Kotadan düşülen tahmini token miktarı")
+                    .baseUnit("tokens")
+                    .tag("lane", lane)
+                    .register(meterRegistry));
+            rejections.put(priority, Counter.builder("llm.scheduler.rejected")
+                    .tag("lane", lane)
+                    .register(meterRegistry));
+            Gauge.builder("llm.scheduler.waiting", this, scheduler -> scheduler.waitingIn(priority))
+                    .description("Kota bekleyen LLM çağrısı sayısı")
+                    .tag("lane", lane)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("llm.scheduler.tokens.available", this, LlmQuotaScheduler::tokensAvailable)
+                .register(meterRegistry);
+    }
+
+    public int estimateTokens(String prompt) {
+        return (prompt.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN + responseTokenReserve;
+    }
+
+    /**
+     * Prompt için kota ayırır; kota yoksa bekler.
+     *
+     * @throws LlmUnavailableException şeridin azami bekleme süresi içinde kota açılmazsa
+     */
+    public void admit(LlmPriority priority, String prompt) {
+        // Kovadan büyük bir istek hiçbir zaman sığmaz; en fazla kovanın tamamını tüketir
+        double cost = Math.min(estimateTokens(prompt), tokensPerMinute);
+        long start = System.nanoTime();
+        long deadline = start + maxWait.get(priority).toNanos();
+
+        lock.lock();
+        waiting[priority.ordinal()]++;
+        try {
+            while (true) {
+                refill();
+                if (!higherPriorityWaiting(priority) && availableTokens >= cost && availableRequests >= 1) {
+                    availableTokens -= cost;
+                    availableRequests -= 1;
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    rejections.get(priority).increment();
+                    throw new LlmUnavailableException("Yapay zeka servisi kotası doldu. Lütfen daha sonra tekrar deneyin.",
+                            Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanosUntilAvailable(cost))));
+                }
+                quotaChanged.awaitNanos(Math.min(remaining, Math.max(nanosUntilAvailable(cost), TimeUnit.MILLISECONDS.toNanos(1))));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmUnavailableException("LLM kotası beklenirken işlem kesildi.", 1);
+        } finally {
+            waiting[priority.ordinal()]--;
+            // Üst şerit boşaldıysa alt şeritte bekleyenler yeniden denesin
+            quotaChanged.signalAll();
+            lock.unlock();
+            waitTimers.get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        tokenCounters.get(priority).increment(cost);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double minutes = (now - lastRefill) / (double) TimeUnit.MINUTES.toNanos(1);
+        availableTokens = Math.min(tokensPerMinute, availableTokens + minutes * tokensPerMinute);
+        availableRequests = Math.min(requestsPerMinute, availableRequests + minutes * requestsPerMinute);
+        lastRefill = now;
+    }
+
+    private long nanosUntilAvailable(double cost) {
+        double tokenMinutes = Math.max(0, cost - availableTokens) / tokensPerMinute;
+        double requestMinutes = Math.max(0, 1 - availableRequests) / requestsPerMinute;
+        return (long) (Math.max(tokenMinutes, requestMinutes) * TimeUnit.MINUTES.toNanos(1));
+    }
+
+    private boolean higherPriorityWaiting(LlmPriority priority) {
+        for (int i = 0; i < priority.ordinal(); i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int waitingIn(LlmPriority priority) {
+        lock.lock();
+        try {
+            return waiting[priority.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double tokensAvailable() {
+        lock.lock();
+        try {
+            refill();
+            return availableTokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
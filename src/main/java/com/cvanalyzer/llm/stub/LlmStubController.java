@@ -0,0 +1,207 @@
+package com.cvanalyzer.llm.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * {@code llmstub} profilinde gerçek sağlayıcının yerine geçen, OpenAI uyumlu sahte chat completions uç noktası.
+ * <p>
+ * Yanıt gecikmesi medyanı ve p99'u verilen log-normal dağılımdan çekilir. Belirtilen oranlarda HTTP hatası
+ * ve JSON olmayan (bozuk) içerik döner. Streaming isteklerde içerik sabit boyutlu parçalar halinde,
+ * parçalar arasında bekleyerek SSE olarak yazılır. Aynı {@code seed} ile aynı istek sırası aynı sonuçları üretir.
+ * <p>
+ * Gecikme istek thread'i uyutularak üretilir; yük testinde Tomcat thread sayısı stub'ın da kapasitesidir.
+ */
+@RestController
+@Profile("llmstub")
+@RequestMapping("/llm-stub")
+public class LlmStubController {
+
+    // Standart normal dağılımın %99 noktası
+    private static final double Z_99 = 2.326;
+
+    private static final List<String> STRENGTHS = List.of(
+            "Güçlü Java ve Spring Boot deneyimi",
+            "Ölçülebilir sonuçlarla desteklenmiş proje geçmişi",
+            "Takım liderliği ve mentorluk tecrübesi",
+            "Bulut altyapıları ve CI/CD süreçlerine hakimiyet",
+            "Açık ve düzenli CV yapısı");
+
+    private final ObjectMapper objectMapper;
+    private final Random random;
+    private final double latencyMu;
+    private final double latencySigma;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double malformedRate;
+    private final int chunkChars;
+    private final Duration chunkDelay;
+
+    public LlmStubController(ObjectMapper objectMapper,
+                             @Value("${cvanalyzer.llm-stub.latency-median:1500ms}") Duration latencyMedian,
+                             @Value("${cvanalyzer.llm-stub.latency-p99:6s}") Duration latencyP99,
+                             @Value("${cvanalyzer.llm-stub.error-rate:0.0}") double errorRate,
+                             @Value("${cvanalyzer.llm-stub.error-status:503}") int errorStatus,
+                             @Value("${cvanalyzer.llm-stub.malformed-rate:0.0}") double malformedRate,
+                             @Value("${cvanalyzer.llm-stub.chunk-chars:24}") int chunkChars,
+                             @Value("${cvanalyzer.llm-stub.chunk-delay:30ms}") Duration chunkDelay,
+                             @Value("${cvanalyzer.llm-stub.seed:42}") long seed) {
+        this.objectMapper = objectMapper;
+        this.random = new Random(seed);
+        this.latencyMu = Math.log(Math.max(1, latencyMedian.toMillis()));
+        this.latencySigma = Math.max(0, (Math.log(Math.max(1, latencyP99.toMillis())) - latencyMu) / Z_99);
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.malformedRate = malformedRate;
+        this.chunkChars = chunkChars;
+        this.chunkDelay = chunkDelay;
+    }
+
+    @PostMapping("/chat/completions")
+    public void chatCompletions(@RequestBody Map<String, Object> request, HttpServletResponse response)
+            throws IOException, InterruptedException {
+        // Kararlar istek başında, tek seferde çekilir; böylece aynı seed ile sonuçlar tekrarlanabilir
+        long latencyMillis;
+        boolean fail;
+        boolean malformed;
+        int score;
+        synchronized (random) {
+            latencyMillis = Math.round(Math.exp(latencyMu + latencySigma * random.nextGaussian()));
+            fail = random.nextDouble() < errorRate;
+            malformed = random.nextDouble() < malformedRate;
+            score = 40 + random.nextInt(56);
+        }
+
+        String model = String.valueOf(request.getOrDefault("model", "llm-stub"));
+        boolean stream = Boolean.TRUE.equals(request.get("stream"));
+        String content = malformed ? malformedContent(score) : wellFormedContent(score);
+
+        Thread.sleep(latencyMillis);
+
+        if (fail) {
+            writeError(response);
+        } else if (stream) {
+            writeStream(response, model, content);
+        } else {
+            writeCompletion(response, model, content, promptLength(request));
+        }
+    }
+
+    private void writeCompletion(HttpServletResponse response, String model, String content, int promptChars) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "stub-" + UUID.randomUUID());
+        body.put("object", "chat.completion");
+        body.put("created", Instant.now().getEpochSecond());
+        body.put("model", model);
+        body.put("choices", List.of(Map.of(
+                "index", 0,
+                "message", Map.of("role", "assistant", "content", content),
+                "finish_reason", "stop")));
+        body.put("usage", Map.of(
+                "prompt_tokens", promptChars / 4,
+                "completion_tokens", content.length() / 4,
+                "total_tokens", (promptChars + content.length()) / 4));
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private void writeStream(HttpServletResponse response, String model, String content) throws IOException, InterruptedException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        String id = "stub-" + UUID.randomUUID();
+        long created = Instant.now().getEpochSecond();
+
+        for (int start = 0; start < content.length(); start += chunkChars) {
+            String piece = content.substring(start, Math.min(content.length(), start + chunkChars));
+            writeChunk(writer, id, created, model, Map.of("role", "assistant", "content", piece), null);
+            Thread.sleep(chunkDelay.toMillis());
+        }
+        writeChunk(writer, id, created, model, Map.of(), "stop");
+        writer.write("data: [DONE]\n\n");
+        writer.flush();
+    }
+
+    private void writeChunk(PrintWriter writer, String id, long created, String model,
+                            Map<String, Object> delta, String finishReason) throws IOException {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+
+        Map<String, Object> chunk = new LinkedHashMap<>();
+        chunk.put("id", id);
+        chunk.put("object", "chat.completion.chunk");
+        chunk.put("created", created);
+        chunk.put("model", model);
+        chunk.put("choices", List.of(choice));
+
+        writer.write("data: " + objectMapper.writeValueAsString(chunk) + "\n\n");
+        writer.flush();
+    }
+
+    private void writeError(HttpServletResponse response) throws IOException {
+        response.setStatus(errorStatus);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", Map.of(
+                "code", errorStatus,
+                "message", "LLM stub tarafından üretilen hata",
+                "status", errorStatus == 429 ? "RESOURCE_EXHAUSTED" : "UNAVAILABLE")));
+    }
+
+    // Gerçek modele benzer şekilde JSON'u markdown kod bloğu içinde döner
+    private String wellFormedContent(int score) throws IOException {
+        StringBuilder summary = new StringBuilder();
+        for (String strength : STRENGTHS.subList(0, 3 + score % 3)) {
+            summary.append("- ").append(strength).append('\n');
+        }
+        Map<String, Object> evaluation = new LinkedHashMap<>();
+        evaluation.put("score", score);
+        evaluation.put("summary", summary.toString().trim());
+        evaluation.put("recommendations", """
+                - Projelerde kullanılan teknolojileri ve elde edilen sonuçları sayısal olarak belirtin.
+                - Özet bölümünü hedeflenen pozisyona göre kısaltın.
+                - Sertifikaları ve açık kaynak katkılarını ayrı bir başlıkta listeleyin.""");
+        return "```json\n" + objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(evaluation) + "\n```";
+    }
+
+    private String malformedContent(int score) {
+        return score % 2 == 0
+                ? "Bu CV'yi değerlendirdim, genel olarak başarılı ve puanı " + score + " civarında."
+                : "{\"score\": " + score + ", \"summary\": \"- Güçlü Java deneyimi\\n- Takım";
+    }
+
+    private static int promptLength(Map<String, Object> request) {
+        Object messages = request.get("messages");
+        if (!(messages instanceof List<?> list)) {
+            return 0;
+        }
+        int length = 0;
+        for (Object message : list) {
+            if (message instanceof Map<?, ?> map && map.get("content") instanceof String content) {
+                length += content.length();
+            }
+        }
+        return length;
+    }
+}
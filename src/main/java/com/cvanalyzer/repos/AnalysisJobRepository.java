@@ -0,0 +1,7 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.entities.AnalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, String> {
+}
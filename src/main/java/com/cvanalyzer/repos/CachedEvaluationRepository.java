@@ -0,0 +1,7 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.entities.CachedEvaluation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CachedEvaluationRepository extends JpaRepository<CachedEvaluation, String> {
+}
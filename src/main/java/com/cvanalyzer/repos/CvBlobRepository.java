@@ -0,0 +1,25 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.entities.CvBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CvBlobRepository extends JpaRepository<CvBlob, String> {
+
+    // Satır yoksa oluşturur, varsa referansı artırır; tek ifade olduğu için eşzamanlı ilk yüklemeler çakışmaz
+    @Modifying
+    @Query(value = "INSERT INTO cv_blob (sha256, size, ref_count, created_at) VALUES (:sha256, :size, 1, :createdAt) "
+            + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    void acquire(@Param("sha256") String sha256, @Param("size") long size, @Param("createdAt") LocalDateTime createdAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from CvBlob b where b.sha256 = :sha256")
+    Optional<CvBlob> findForUpdate(@Param("sha256") String sha256);
+}
@@ -0,0 +1,10 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.entities.CvText;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface CvTextRepository extends JpaRepository<CvText, Long> {
+    Optional<CvText> findByCvUpload_Id(Long cvId);
+}
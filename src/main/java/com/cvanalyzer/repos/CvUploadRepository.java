@@ -1,12 +1,35 @@
 package com.cvanalyzer.repos;
 
+import com.cvanalyzer.dtos.CvUploadSummary;
 import com.cvanalyzer.entities.CvUpload;
 import com.cvanalyzer.entities.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CvUploadRepository extends JpaRepository<CvUpload, Long> {
+
+    // Sahiplik kontrolleri (e-posta karşılaştırması) analiz worker'larında da, oturum dışında çalışır
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<CvUpload> findById(Long id);
+
+    // Keyset sayfalı; (uploadDate, id) imlecinden sonrası okunur (bkz. EvaluationRepository)
+    @Query("select new com.cvanalyzer.dtos.CvUploadSummary(c.id, c.fileName, c.fileType, c.fileSize, c.uploadDate) "
+            + "from CvUpload c where c.user.id = :userId "
+            + "and c.uploadDate <= :afterUploadDate and (c.uploadDate < :afterUploadDate or c.id < :afterId) "
+            + "order by c.uploadDate desc, c.id desc")
+    List<CvUploadSummary> findSummariesByUserId(@Param("userId") Long userId,
+                                                @Param("afterUploadDate") LocalDateTime afterUploadDate,
+                                                @Param("afterId") Long afterId,
+                                                Pageable page);
+
     List<CvUpload> findByUser(User user);
 
     long countByUser(User user);
@@ -1,21 +1,73 @@
 package com.cvanalyzer.repos;
 
+import com.cvanalyzer.dtos.AdminEvaluationSummary;
+import com.cvanalyzer.dtos.EvaluationSummary;
 import com.cvanalyzer.entities.CvUpload;
 import com.cvanalyzer.entities.Evaluation;
-import com.cvanalyzer.entities.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface EvaluationRepository extends JpaRepository<Evaluation, Long> {
-    List<Evaluation> findByUser(User user);
 
     List<Evaluation> findByUserId(Long userId);
 
+    /*
+     * Liste sorguları keyset sayfalıdır: (sıralama değeri, id) imlecinden sonraki satırlar, sayfa boyutu kadar okunur.
+     * Öndeki "<=" koşulu indeks aralığını daraltır; id karşılaştırması aynı değere sahip satırları ayırır. İlk sayfada
+     * imleç yerine üst sınır değerleri verilir. Kullanılan indeksler Evaluation'daki @Table tanımındadır.
+     */
+    @Query("select new com.cvanalyzer.dtos.EvaluationSummary(e.id, e.score, e.analysisSummary, e.recommendations, "
+            + "e.createdAt, e.evaluationType, c.id, c.fileName) "
+            + "from Evaluation e join e.cvUpload c "
+            + "where e.user.id = :userId "
+            + "and e.createdAt <= :afterCreatedAt and (e.createdAt < :afterCreatedAt or e.id < :afterId) "
+            + "order by e.createdAt desc, e.id desc")
+    List<EvaluationSummary> findSummariesByUserId(@Param("userId") Long userId,
+                                                  @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable page);
+
+    @Query("select new com.cvanalyzer.dtos.AdminEvaluationSummary(e.id, e.score, e.evaluationType, e.createdAt, "
+            + "c.id, c.fileName, u.id, u.email) "
+            + "from Evaluation e join e.cvUpload c join e.user u "
+            + "where e.createdAt between :from and :to and e.score between :minScore and :maxScore "
+            + "and e.createdAt <= :afterCreatedAt and (e.createdAt < :afterCreatedAt or e.id < :afterId) "
+            + "order by e.createdAt desc, e.id desc")
+    List<AdminEvaluationSummary> findAllByCreatedAt(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("minScore") double minScore,
+                                                    @Param("maxScore") double maxScore,
+                                                    @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable page);
 
+    @Query("select new com.cvanalyzer.dtos.AdminEvaluationSummary(e.id, e.score, e.evaluationType, e.createdAt, "
+            + "c.id, c.fileName, u.id, u.email) "
+            + "from Evaluation e join e.cvUpload c join e.user u "
+            + "where e.createdAt between :from and :to and e.score between :minScore and :maxScore "
+            + "and e.score <= :afterScore and (e.score < :afterScore or e.id < :afterId) "
+            + "order by e.score desc, e.id desc")
+    List<AdminEvaluationSummary> findAllByScore(@Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("minScore") double minScore,
+                                                @Param("maxScore") double maxScore,
+                                                @Param("afterScore") double afterScore,
+                                                @Param("afterId") Long afterId,
+                                                Pageable page);
 
+    // Değerlendirme CV'siyle birlikte döndürüldüğü için tek sorguda yüklenir
+    @EntityGraph(attributePaths = "cvUpload")
     Optional<Evaluation> findByCvUpload_Id(Long cvUpload);
+
     void deleteByCvUpload(CvUpload cvUpload);
 
+    @EntityGraph(attributePaths = "cvUpload")
     Optional<Evaluation> findByCvUpload(CvUpload cvUpload);
 }
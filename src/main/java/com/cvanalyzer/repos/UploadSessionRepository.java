@@ -0,0 +1,23 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.entities.UploadSession;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Yalnızca parça alınan kısmın devamıysa ilerletir; aynı parçanın tekrarı ya da eşzamanlı yazımlar geri almaz
+    @Modifying
+    @Transactional
+    @Query("update UploadSession s set s.receivedBytes = :end "
+            + "where s.id = :id and s.receivedBytes >= :offset and s.receivedBytes < :end")
+    int advance(@Param("id") String id, @Param("offset") long offset, @Param("end") long end);
+
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime time);
+}
@@ -2,10 +2,29 @@ package com.cvanalyzer.repos;
 
 import com.cvanalyzer.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     Optional<User> findByToken(String token);
+
+    // Sınır kontrolü ve artırma tek ifadede: eşzamanlı yüklemeler sınırı aşamaz. 0 dönerse sınır dolmuştur.
+    @Modifying
+    @Query("update User u set u.cvCount = u.cvCount + 1 where u.id = :id and u.cvCount < :max")
+    int reserveCvSlot(@Param("id") Long id, @Param("max") int max);
+
+    @Modifying
+    @Query("update User u set u.cvCount = u.cvCount - 1 where u.id = :id and u.cvCount > 0")
+    int releaseCvSlot(@Param("id") Long id);
+
+    // cv_count sütunundan önce oluşturulmuş kullanıcılar için sayacı mevcut kayıtlardan bir kez hesaplar
+    @Modifying
+    @Query(value = "UPDATE users SET cv_count = (SELECT COUNT(*) FROM cv_upload WHERE user_id = :id) "
+            + "WHERE id = :id AND cv_count IS NULL", nativeQuery = true)
+    int backfillCvCount(@Param("id") Long id);
 }
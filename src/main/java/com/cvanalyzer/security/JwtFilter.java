@@ -5,23 +5,37 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Bearer token'ı doğrular ve kimliği token'ın imzalı alanlarından kurar: principal e-posta (subject),
+ * yetki "role" claim'idir. İstek başına veritabanı sorgusu yapılmaz; rol değişiklikleri ve silinen
+ * kullanıcılar token süresi dolana kadar (en fazla 1 saat) yansımaz.
+ */
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
 
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    }
+
+    /*
+     * SSE gibi asenkron yanıtlar ASYNC dispatch ile tamamlanır. Kimlik bir SecurityContextRepository'ye
+     * kaydedilmediğinden bu dispatch'te de token'dan yeniden kurulmalıdır; aksi halde AuthorizationFilter isteği
+     * anonim görür ve zaten gönderilmiş yanıtı reddetmeye çalışır.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
     }
 
     @Override
@@ -31,19 +45,20 @@ public class JwtFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             String token = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(token);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                if (jwtUtil.isTokenValid(token)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
+            jwtUtil.verify(token)
+                    .filter(verified -> verified.subject() != null)
+                    .ifPresent(verified -> {
+                        List<GrantedAuthority> authorities = verified.role() != null
+                                ? List.of(new SimpleGrantedAuthority(verified.role()))
+                                : List.of();
+                        UsernamePasswordAuthenticationToken authToken =
+                                new UsernamePasswordAuthenticationToken(verified.subject(), null, authorities);
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                    });
         }
         filterChain.doFilter(request, response);
     }
@@ -1,13 +1,21 @@
 package com.cvanalyzer.security;
 
+import com.cvanalyzer.cache.LruTtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
@@ -16,11 +24,23 @@ public class JwtUtil {
     private String SECRET_KEY;
     private static final long EXPIRATION_TIME = 1000 * 60 * 60; // 1 saat
 
+    // Aynı token ile gelen tekrar isteklerde imza doğrulaması atlanır; anahtar token'ın SHA-256 özetidir
+    @Value("${cvanalyzer.jwt.verified-cache.max-entries:10000}")
+    private int verifiedCacheMaxEntries = 10_000;
+
+    @Value("${cvanalyzer.jwt.verified-cache.ttl:5m}")
+    private Duration verifiedCacheTtl = Duration.ofMinutes(5);
+
     private Key key;
+    private JwtParser parser;
+    private LruTtlCache<String, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        // JwtParser değişmez ve thread-safe; her istekte yeniden kurulmaz
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = new LruTtlCache<>(verifiedCacheMaxEntries, verifiedCacheTtl);
     }
 
     public String generateToken(String email, String role) {
@@ -33,22 +53,50 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Token'ı tek seferde ayrıştırıp doğrular. İmza, biçim veya süre geçersizse boş döner.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = digest(token);
+        Optional<VerifiedToken> cached = verifiedTokens.get(digest);
+        if (cached.isPresent()) {
+            if (!cached.get().isExpired(Instant.now())) {
+                return cached;
+            }
+            verifiedTokens.invalidate(digest);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    expiration != null ? expiration.toInstant() : null);
+            verifiedTokens.put(digest, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
         }
     }
-
 }
@@ -0,0 +1,87 @@
+package com.cvanalyzer.security;
+
+import com.cvanalyzer.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt işlemlerini istek thread'i yerine {@code passwordExecutor} havuzunda çalıştırır. İstek thread'i sonucu bekler,
+ * ancak aynı anda CPU harcayan hash sayısı çekirdek sayısıyla sınırlı kalır. Kuyruk doluysa
+ * {@link PasswordHashingBusyException} (429) fırlatılır.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor passwordExecutor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordExecutor") ThreadPoolExecutor passwordExecutor,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordExecutor = passwordExecutor;
+        this.encodeTimer = latencyTimer("encode", meterRegistry);
+        this.matchesTimer = latencyTimer("matches", meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Havuz kuyruğu dolu olduğu için reddedilen şifre işlemleri")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Hash'in cost'u yapılandırılandan düşükse true; sadece hash önekini okur, havuza gitmez
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordExecutor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingBusyException("Şu anda çok fazla giriş isteği var. Lütfen biraz sonra tekrar deneyin.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Şifre işlemi yarıda kesildi.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Şifre işlemi başarısız oldu.", e.getCause());
+        }
+    }
+
+    private static Timer latencyTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("password.hash.latency")
+                .description("BCrypt işleminin havuzdaki çalışma süresi")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.cvanalyzer.security;
+
+import java.time.Instant;
+
+/**
+ * İmzası doğrulanmış bir JWT'nin kimlik doğrulama için gereken alanları.
+ */
+public record VerifiedToken(String subject, String role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
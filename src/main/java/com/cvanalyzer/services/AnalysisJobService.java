@@ -0,0 +1,127 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.AnalysisJob;
+import com.cvanalyzer.entities.Evaluation;
+import com.cvanalyzer.entities.JobStatus;
+import com.cvanalyzer.exceptions.AnalysisJobNotFoundException;
+import com.cvanalyzer.exceptions.AnalysisQueueFullException;
+import com.cvanalyzer.exceptions.UnauthorizedAccessException;
+import com.cvanalyzer.exceptions.UserNotFoundException;
+import com.cvanalyzer.llm.LlmPriority;
+import com.cvanalyzer.repos.AnalysisJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AnalysisJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AnalysisJobRepository jobRepository;
+    private final EvaluationService evaluationService;
+    private final ThreadPoolExecutor analysisExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public AnalysisJobService(AnalysisJobRepository jobRepository,
+                              EvaluationService evaluationService,
+                              @Qualifier("analysisExecutor") ThreadPoolExecutor analysisExecutor,
+                              MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.evaluationService = evaluationService;
+        this.analysisExecutor = analysisExecutor;
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = Timer.builder("analysis.jobs.wait")
+                .description("Analiz işinin kuyrukta bekleme süresi")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("analysis.jobs.rejected")
+                .description("Kuyruk dolu olduğu için reddedilen analiz işleri")
+                .register(meterRegistry);
+    }
+
+    public AnalysisJob submit(Long cvId, String userEmail, String idempotencyKey) throws UserNotFoundException {
+        // Yetki ve "zaten analiz edilmiş" kontrolleri kuyruğa girmeden önce, senkron olarak yapılır
+        evaluationService.verifyCanAnalyze(cvId, userEmail, idempotencyKey);
+
+        AnalysisJob job = AnalysisJob.builder()
+                .id(UUID.randomUUID().toString())
+                .cvId(cvId)
+                .userEmail(userEmail)
+                .idempotencyKey(idempotencyKey)
+                .status(JobStatus.QUEUED)
+                .createdAt(LocalDateTime.now())
+                .build();
+        jobRepository.save(job);
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            analysisExecutor.execute(() -> run(job.getId(), enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            job.setStatus(JobStatus.FAILED);
+            job.setErrorMessage("Analiz kuyruğu dolu.");
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            throw new AnalysisQueueFullException("Analiz kuyruğu dolu. Lütfen daha sonra tekrar deneyin.");
+        }
+        return job;
+    }
+
+    public AnalysisJob getJob(String jobId, String userEmail) {
+        AnalysisJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new AnalysisJobNotFoundException("Analiz işi bulunamadı."));
+
+        if (!job.getUserEmail().equals(userEmail)) {
+            throw new UnauthorizedAccessException("Bu analiz işine erişim yetkiniz yok.");
+        }
+        return job;
+    }
+
+    void run(String jobId, long enqueuedAt) {
+        waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+
+        AnalysisJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        jobRepository.save(job);
+
+        long start = System.nanoTime();
+        try {
+            Evaluation evaluation = evaluationService.analyzeCvAndVerifyUser(
+                    job.getCvId(), job.getUserEmail(), job.getIdempotencyKey(), LlmPriority.BACKGROUND);
+            job.setEvaluationId(evaluation.getId());
+            job.setStatus(JobStatus.DONE);
+        } catch (Exception e) {
+            job.setStatus(JobStatus.FAILED);
+            job.setErrorMessage(truncate(e.getMessage()));
+        } finally {
+            Timer.builder("analysis.jobs.run")
+                    .description("Analiz işinin çalışma süresi")
+                    .tag("status", job.getStatus().name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,175 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.CvText;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.extraction.ExtractionResult;
+import com.cvanalyzer.extraction.TextExtractor;
+import com.cvanalyzer.repos.CvTextRepository;
+import com.cvanalyzer.storage.CvBlobStore;
+import org.apache.tika.langdetect.optimaize.OptimaizeLangDetector;
+import org.apache.tika.language.detect.LanguageDetector;
+import org.apache.tika.language.detect.LanguageResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CV metnini yükleme anında bir kez çıkarır ve sıkıştırılmış olarak saklar.
+ * Analiz akışı dosyayı yeniden ayrıştırmak yerine saklanan metni okur.
+ */
+@Service
+public class CvTextService {
+
+    private static final Logger log = LoggerFactory.getLogger(CvTextService.class);
+
+    // Dil tespiti için metnin başı yeterli
+    private static final int LANGUAGE_SAMPLE_CHARS = 2000;
+
+    private final CvTextRepository cvTextRepository;
+    private final TextExtractor textExtractor;
+    private final CvBlobStore cvBlobStore;
+    private final ThreadPoolExecutor extractionExecutor;
+    private final List<String> languages;
+    private final ReentrantLock languageDetectorLock = new ReentrantLock();
+    private LanguageDetector languageDetector;
+
+    public CvTextService(CvTextRepository cvTextRepository,
+                         TextExtractor textExtractor,
+                         CvBlobStore cvBlobStore,
+                         @Qualifier("extractionExecutor") ThreadPoolExecutor extractionExecutor,
+                         @Value("${cvanalyzer.extraction.languages:tr,en,de,fr}") List<String> languages) {
+        this.cvTextRepository = cvTextRepository;
+        this.textExtractor = textExtractor;
+        this.cvBlobStore = cvBlobStore;
+        this.extractionExecutor = extractionExecutor;
+        this.languages = languages;
+    }
+
+    /**
+     * Metin çıkarmayı istek thread'i dışında başlatır. Kuyruk doluysa sessizce atlanır;
+     * bu durumda metin ilk analizde {@link #getText(CvUpload)} tarafından çıkarılır.
+     */
+    public void extractAsync(CvUpload cvUpload) {
+        try {
+            extractionExecutor.execute(() -> {
+                try {
+                    extractAndStore(cvUpload);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("CV metni çıkarılamadı (cvId={}): {}", cvUpload.getId(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Metin çıkarma kuyruğu dolu, cvId={} analiz anında işlenecek", cvUpload.getId());
+        }
+    }
+
+    public String getText(CvUpload cvUpload) throws IOException {
+        Optional<CvText> stored = cvTextRepository.findByCvUpload_Id(cvUpload.getId());
+        if (stored.isPresent()) {
+            return stored.get().getText();
+        }
+        return extractOnExtractionPool(cvUpload).getText();
+    }
+
+    // Tika/PDFBox içinde I/O çevresinde synchronized bloklar var; çağıran virtual thread olabileceği için
+    // çıkarma platform thread'li havuzda yapılır. Kuyruk doluysa eskisi gibi çağıran thread'de çalışır.
+    private CvText extractOnExtractionPool(CvUpload cvUpload) throws IOException {
+        Future<CvText> future;
+        try {
+            future = extractionExecutor.submit(() -> extractAndStore(cvUpload));
+        } catch (RejectedExecutionException e) {
+            return extractAndStore(cvUpload);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("CV metni çıkarılırken işlem kesildi");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    CvText extractAndStore(CvUpload cvUpload) throws IOException {
+        ExtractionResult result;
+        try (InputStream inputStream = cvBlobStore.open(cvUpload)) {
+            result = textExtractor.extract(inputStream, cvUpload.getFileType());
+        }
+        String text = result.text();
+
+        CvText cvText = CvText.builder()
+                .cvUpload(cvUpload)
+                .text(text)
+                .contentHash(sha256(text))
+                .characterCount(text.length())
+                .pageCount(result.pageCount())
+                .truncated(result.truncated())
+                .language(detectLanguage(text))
+                .extractedAt(LocalDateTime.now())
+                .build();
+
+        try {
+            return cvTextRepository.save(cvText);
+        } catch (DataIntegrityViolationException e) {
+            // Aynı CV için eşzamanlı bir çıkarma daha önce kaydetti
+            return cvTextRepository.findByCvUpload_Id(cvUpload.getId()).orElse(cvText);
+        }
+    }
+
+    // Dedektör thread-safe değil. Model ilk çağrıda classpath'ten okunduğu için synchronized yerine kilit kullanılır
+    private String detectLanguage(String text) {
+        if (text.isBlank()) {
+            return null;
+        }
+        languageDetectorLock.lock();
+        try {
+            if (languageDetector == null) {
+                languageDetector = new OptimaizeLangDetector().loadModels(new HashSet<>(languages));
+            }
+            LanguageResult result = languageDetector.detect(
+                    text.length() > LANGUAGE_SAMPLE_CHARS ? text.substring(0, LANGUAGE_SAMPLE_CHARS) : text);
+            return result.isUnknown() ? null : result.getLanguage();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            languageDetectorLock.unlock();
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.dtos.CvUploadSummary;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.CvNotFoundException;
+import com.cvanalyzer.exceptions.FileStorageException;
+import com.cvanalyzer.exceptions.FileValidationException;
+import com.cvanalyzer.exceptions.UnauthorizedAccessException;
+import com.cvanalyzer.repos.CvUploadRepository;
+import com.cvanalyzer.repos.EvaluationRepository;
+import com.cvanalyzer.repos.UserRepository;
+import com.cvanalyzer.storage.CvBlobStore;
+import com.cvanalyzer.storage.StoredBlob;
+import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class CvUploadService {
+
+    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
+    private static final int MAX_CVS_PER_USER = 3;
+    private static final String QUOTA_MESSAGE = "Bir kullanıcı en fazla 3 CV yükleyebilir.";
+    private static final String UPLOAD_DATE_SORT = "uploadDate";
+    private static final String DUPLICATE_NAME_MESSAGE = "Aynı isimde bir dosya zaten yüklendi. Lütfen dosya adını değiştirin.";
+    private static final List<String> ALLOWED_TYPES = List.of(
+            "application/pdf",
+            "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
+    );
+
+    private final CvUploadRepository cvUploadRepository;
+    private final UserRepository userRepository;
+    private final EvaluationRepository evaluationRepository;
+    private final CvBlobStore cvBlobStore;
+    private final CvTextService cvTextService;
+    private final TransactionTemplate transactionTemplate;
+
+    public CvUploadService(CvUploadRepository cvUploadRepository,
+                           UserRepository userRepository,
+                           EvaluationRepository evaluationRepository,
+                           CvBlobStore cvBlobStore,
+                           CvTextService cvTextService,
+                           PlatformTransactionManager transactionManager) {
+        this.cvUploadRepository = cvUploadRepository;
+        this.userRepository = userRepository;
+        this.evaluationRepository = evaluationRepository;
+        this.cvBlobStore = cvBlobStore;
+        this.cvTextService = cvTextService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Dosya kuralları veritabanına gitmeden kontrol edilir; CV sınırı ve aynı isim kontrolü kayıtla aynı
+     * transaction'da, koşullu sayaç güncellemesi ve tekil indeks ile atomik olarak yapılır.
+     */
+    public CvUpload upload(User user, MultipartFile file) {
+        String fileName = file.getOriginalFilename();
+        validateFile(fileName, file.getContentType(), file.getSize());
+
+        StoredBlob blob;
+        try (InputStream inputStream = file.getInputStream()) {
+            blob = cvBlobStore.store(inputStream);
+        } catch (IOException e) {
+            throw new FileStorageException("Dosya yüklenirken hata oluştu.", e);
+        }
+        return save(user, fileName, file.getContentType(), blob);
+    }
+
+    // Sunucuda hazır duran dosyadan (parça parça yükleme) CV kaydı oluşturur
+    public CvUpload upload(User user, String fileName, String fileType, Path file) {
+        StoredBlob blob;
+        try {
+            validateFile(fileName, fileType, Files.size(file));
+            blob = cvBlobStore.store(file);
+        } catch (IOException e) {
+            throw new FileStorageException("Dosya yüklenirken hata oluştu.", e);
+        }
+        return save(user, fileName, fileType, blob);
+    }
+
+    /**
+     * Yükleme başlamadan erken geri bildirim için tüm kuralları kontrol eder. CV sınırı ve aynı isim kontrolleri
+     * burada yalnızca bilgi amaçlıdır; bağlayıcı kontrol kayıt sırasında yapılır.
+     */
+    public void validate(User user, String fileName, String fileType, long size) {
+        validateFile(fileName, fileType, size);
+
+        if (cvUploadRepository.countByUser(user) >= MAX_CVS_PER_USER) {
+            throw new FileValidationException(QUOTA_MESSAGE);
+        }
+        if (cvUploadRepository.existsByUserAndFileName(user, fileName)) {
+            throw new FileValidationException(DUPLICATE_NAME_MESSAGE);
+        }
+    }
+
+    private static void validateFile(String fileName, String fileType, long size) {
+        if (size > MAX_FILE_SIZE) {
+            throw new FileValidationException("Dosya boyutu 5 MB'tan büyük olamaz.");
+        }
+        if (!ALLOWED_TYPES.contains(fileType)) {
+            throw new FileValidationException("Sadece PDF veya Word dosyaları yüklenebilir.");
+        }
+        if (fileName == null || fileName.isBlank()) {
+            throw new FileValidationException("Dosya adı boş olamaz.");
+        }
+    }
+
+    private CvUpload save(User user, String fileName, String fileType, StoredBlob blob) {
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setFileName(fileName);
+        cvUpload.setFileType(fileType);
+        cvUpload.setFilePath(blob.key());
+        cvUpload.setContentHash(blob.sha256());
+        cvUpload.setFileSize(blob.size());
+        cvUpload.setUploadDate(LocalDateTime.now());
+        cvUpload.setUser(user);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                reserveSlot(user);
+                // IDENTITY id'de insert hemen çalışır; tekil indeks ihlali burada, sayaç artışıyla birlikte geri alınır
+                cvUploadRepository.save(cvUpload);
+            });
+        } catch (DataIntegrityViolationException e) {
+            cvBlobStore.release(blob.sha256());
+            if (isDuplicateFileName(e)) {
+                throw new FileValidationException(DUPLICATE_NAME_MESSAGE);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            cvBlobStore.release(blob.sha256());
+            throw e;
+        }
+        cvTextService.extractAsync(cvUpload);
+        return cvUpload;
+    }
+
+    private void reserveSlot(User user) {
+        if (userRepository.reserveCvSlot(user.getId(), MAX_CVS_PER_USER) == 1) {
+            return;
+        }
+        // Sayaç henüz hesaplanmamış eski kullanıcı: bir kez hesaplanıp yeniden denenir
+        if (userRepository.backfillCvCount(user.getId()) == 1
+                && userRepository.reserveCvSlot(user.getId(), MAX_CVS_PER_USER) == 1) {
+            return;
+        }
+        throw new FileValidationException(QUOTA_MESSAGE);
+    }
+
+    private static boolean isDuplicateFileName(DataIntegrityViolationException e) {
+        // Bazı veritabanları (H2, büyük harf duyarsız MySQL kurulumları) kısıt adını büyük harfle raporlar
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(CvUpload.USER_FILE_NAME_CONSTRAINT);
+    }
+
+    public CursorPage<CvUploadSummary> listByUser(User user, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor, UPLOAD_DATE_SORT);
+        int size = KeysetCursor.pageSize(limit);
+        List<CvUploadSummary> rows = cvUploadRepository.findSummariesByUserId(user.getId(),
+                after != null ? after.dateValue() : KeysetCursor.MAX_DATE,
+                after != null ? after.id() : Long.MAX_VALUE,
+                PageRequest.ofSize(size + 1));
+        return KeysetCursor.page(rows, size, cv -> KeysetCursor.encode(UPLOAD_DATE_SORT, cv.uploadDate(), cv.id()));
+    }
+
+    public CvUpload getOwnedCv(Long id, String userEmail) {
+        CvUpload cvUpload = cvUploadRepository.findById(id)
+                .orElseThrow(() -> new CvNotFoundException("CV bulunamadı."));
+
+        if (!cvUpload.getUser().getEmail().equals(userEmail)) {
+            throw new UnauthorizedAccessException("Bu CV'ye erişim yetkiniz yok.");
+        }
+        return cvUpload;
+    }
+
+    // Blob, transaction commit edildikten sonra ve yalnızca son referans gittiyse silinir
+    @Transactional
+    public void deleteCv(Long id, String userEmail) {
+        CvUpload cvUpload = cvUploadRepository.findById(id)
+                .orElseThrow(() -> new CvNotFoundException("CV bulunamadı."));
+
+        if (!cvUpload.getUser().getEmail().equals(userEmail)) {
+            throw new UnauthorizedAccessException("Bu CV'yi silme yetkiniz yok.");
+        }
+
+        remove(cvUpload);
+    }
+
+    /**
+     * Hesap silinirken kullanıcının tüm CV'lerini, değerlendirmelerini ve blob referanslarını kaldırır; çağıranın
+     * transaction'ında çalışır. Silmeler hemen yazılır, böylece kullanıcı silinirken cascade boş koleksiyon görür.
+     */
+    @Transactional
+    public void deleteAllByUser(User user) {
+        for (CvUpload cvUpload : cvUploadRepository.findByUser(user)) {
+            remove(cvUpload);
+        }
+        cvUploadRepository.flush();
+    }
+
+    private void remove(CvUpload cvUpload) {
+        evaluationRepository.deleteByCvUpload(cvUpload);
+        cvUploadRepository.delete(cvUpload);
+        userRepository.releaseCvSlot(cvUpload.getUser().getId());
+
+        if (cvUpload.getContentHash() != null) {
+            cvBlobStore.release(cvUpload.getContentHash());
+        } else {
+            try {
+                cvBlobStore.deleteLegacy(cvUpload);
+            } catch (IOException e) {
+                throw new FileStorageException("CV silme sırasında hata oluştu.", e);
+            }
+        }
+    }
+}
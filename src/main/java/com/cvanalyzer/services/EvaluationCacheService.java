@@ -0,0 +1,120 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.cache.LruTtlCache;
+import com.cvanalyzer.entities.CachedEvaluation;
+import com.cvanalyzer.llm.LlmEvaluationResult;
+import com.cvanalyzer.repos.CachedEvaluationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Aynı CV metni, aynı prompt ve aynı model için LLM'e ikinci kez gidilmesini engeller.
+ * Bellekte LRU/TTL ile sınırlı bir katman, arkasında yeniden başlatmalarda korunan
+ * evaluation_cache tablosu bulunur.
+ */
+@Service
+public class EvaluationCacheService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final CachedEvaluationRepository cachedEvaluationRepository;
+    private final LruTtlCache<String, CachedEvaluation> memoryCache;
+    private final Duration ttl;
+    private final String model;
+    private final Counter hits;
+    private final Counter misses;
+
+    public EvaluationCacheService(CachedEvaluationRepository cachedEvaluationRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${cvanalyzer.evaluation-cache.max-entries:1000}") int maxEntries,
+                                  @Value("${cvanalyzer.evaluation-cache.ttl:7d}") Duration ttl,
+                                  @Value("${spring.ai.openai.chat.options.model:unknown}") String model) {
+        this.cachedEvaluationRepository = cachedEvaluationRepository;
+        this.memoryCache = new LruTtlCache<>(maxEntries, ttl);
+        this.ttl = ttl;
+        this.model = model;
+
+        this.hits = Counter.builder("evaluation.cache.requests")
+                .tag("result", "hit")
+                .description("Önbellekten karşılanan analizler (kaçınılan LLM çağrısı)")
+                .register(meterRegistry);
+        this.misses = Counter.builder("evaluation.cache.requests")
+                .tag("result", "miss")
+                .description("LLM'e gitmesi gereken analizler")
+                .register(meterRegistry);
+        Gauge.builder("evaluation.cache.hit.ratio", this, EvaluationCacheService::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("evaluation.cache.size", memoryCache, LruTtlCache::size)
+                .register(meterRegistry);
+    }
+
+    public String keyFor(String cvText, String promptVersion) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(cvText, Normalizer.Form.NFC))
+                .replaceAll(" ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(promptVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    public Optional<CachedEvaluation> get(String cacheKey) {
+        Optional<CachedEvaluation> cached = memoryCache.get(cacheKey);
+        if (cached.isEmpty()) {
+            cached = cachedEvaluationRepository.findById(cacheKey)
+                    .filter(this::notExpired);
+            cached.ifPresent(entry -> memoryCache.put(cacheKey, entry));
+        }
+
+        if (cached.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    public void put(String cacheKey, String promptVersion, LlmEvaluationResult result) {
+        CachedEvaluation entry = CachedEvaluation.builder()
+                .cacheKey(cacheKey)
+                .score(result.score())
+                .summary(result.summary())
+                .recommendations(result.recommendations())
+                .model(model)
+                .promptVersion(promptVersion)
+                .createdAt(LocalDateTime.now())
+                .build();
+        cachedEvaluationRepository.save(entry);
+        memoryCache.put(cacheKey, entry);
+    }
+
+    private boolean notExpired(CachedEvaluation entry) {
+        return entry.getCreatedAt() != null
+                && entry.getCreatedAt().plus(ttl).isAfter(LocalDateTime.now());
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -1,142 +1,331 @@
 package com.cvanalyzer.services;
 
+import com.cvanalyzer.dtos.AdminEvaluationSummary;
+import com.cvanalyzer.dtos.AnalysisStreamEvent;
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.dtos.EvaluationSort;
+import com.cvanalyzer.dtos.EvaluationSummary;
+import com.cvanalyzer.entities.CachedEvaluation;
 import com.cvanalyzer.entities.CvUpload;
 import com.cvanalyzer.entities.Evaluation;
 import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.AnalysisAbortedException;
 import com.cvanalyzer.exceptions.CvNotFoundException;
 import com.cvanalyzer.exceptions.EvaluationAlreadyExistsException;
+import com.cvanalyzer.exceptions.MalformedLlmResponseException;
 import com.cvanalyzer.exceptions.UnauthorizedAccessException;
 import com.cvanalyzer.exceptions.UserNotFoundException;
+import com.cvanalyzer.llm.EvaluationResponseParser;
+import com.cvanalyzer.llm.LlmEvaluationResult;
+import com.cvanalyzer.llm.LlmGateway;
+import com.cvanalyzer.llm.LlmPriority;
 import com.cvanalyzer.repos.CvUploadRepository;
 import com.cvanalyzer.repos.EvaluationRepository;
-import com.cvanalyzer.repos.UserRepository;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.ai.chat.client.ChatClient;
-import org.apache.tika.exception.TikaException;
-import org.apache.tika.metadata.Metadata;
-import org.apache.tika.parser.AutoDetectParser;
-import org.apache.tika.sax.BodyContentHandler;
-import org.xml.sax.SAXException;
-
-import java.io.File;
-import java.io.FileInputStream;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 import java.io.IOException;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class EvaluationService {
 
+    // Prompt metni değiştiğinde versiyon artırılmalı; önbellek anahtarının bir parçasıdır
+    static final String PROMPT_VERSION = "v1";
+
+    // Liste imleçlerinin sıralama adları (bkz. KeysetCursor)
+    private static final String CREATED_AT_SORT = "createdAt";
+    private static final String SCORE_SORT = "score";
+
+    private static final String PROMPT_TEMPLATE = """
+            Aşağıdaki CV içeriğini titizlikle incele.
+            1. CV'yi 0 ile 100 arasında bir puanla değerlendir. Puanı, adayın pozisyona uygunluğu,
+            deneyiminin derinliği, beceri setinin çeşitliliği ve CV'nin genel kalitesi gibi faktörlere dayanarak ver.
+            2. CV'nin en güçlü yönlerini madde işaretleri halinde listeleyen kısa bir özet yaz.
+            3. Adayın kariyer gelişimine katkı sağlayacak ve CV'yi daha etkili hale getirecek, en az 3,
+            en fazla 5 adet, aksiyon odaklı iyileştirme önerisi sun. Öneriler maddeler halinde olmalıdır.
+            4. Puanı, özetini ve önerileri sadece ve kesinlikle JSON formatında döndür. JSON anahtarları 'score',
+             'summary' ve 'recommendations' olsun. 'recommendations' alanı, madde işaretlerini içeren tek bir metin dizesi olsun.
+            5. CV analizin maximum 3000 karakter uzunluğunda olsun.
+            CV içeriği: 
+            """;
+
     private final EvaluationRepository evaluationRepository;
     private final CvUploadRepository cvUploadRepository;
-    private final UserRepository userRepository;
-    private final ChatClient chatClient;
-    private final ObjectMapper objectMapper;
+    private final UserLookupService userLookupService;
+    private final LlmGateway llmGateway;
+    private final EvaluationResponseParser responseParser;
+    private final EvaluationCacheService evaluationCacheService;
+    private final CvTextService cvTextService;
 
+    // cvId → süren analiz; aynı CV için eşzamanlı istekler bu sonucu paylaşır
+    private final ConcurrentHashMap<Long, CompletableFuture<Evaluation>> inFlight = new ConcurrentHashMap<>();
 
-    public EvaluationService(EvaluationRepository evaluationRepository, CvUploadRepository cvUploadRepository, UserRepository userRepository, ChatClient.Builder chatClientBuilder, ObjectMapper objectMapper) {
+    public EvaluationService(EvaluationRepository evaluationRepository, CvUploadRepository cvUploadRepository, UserLookupService userLookupService, LlmGateway llmGateway, ObjectMapper objectMapper, EvaluationCacheService evaluationCacheService, CvTextService cvTextService) {
         this.evaluationRepository = evaluationRepository;
         this.cvUploadRepository = cvUploadRepository;
-        this.userRepository = userRepository;
-        this.chatClient = chatClientBuilder.build();
-        this.objectMapper = objectMapper;
+        this.userLookupService = userLookupService;
+        this.llmGateway = llmGateway;
+        this.responseParser = new EvaluationResponseParser(objectMapper);
+        this.evaluationCacheService = evaluationCacheService;
+        this.cvTextService = cvTextService;
     }
 
-    public Evaluation analyzeCvAndVerifyUser(Long cvId, String userEmail) throws IOException, UserNotFoundException {
-        User user = userRepository.findByEmail(userEmail)
+    public void verifyCanAnalyze(Long cvId, String userEmail, String idempotencyKey) throws UserNotFoundException {
+        User user = userLookupService.findByEmail(userEmail)
                 .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
 
-        CvUpload cvUpload = cvUploadRepository.findById(cvId)
-                .orElseThrow(() -> new CvNotFoundException("CV bulunamadı."));
-
-        if (!cvUpload.getUser().getEmail().equals(userEmail)) {
-            throw new UnauthorizedAccessException("Bu CV'yi analiz etme yetkiniz yok.");
+        CvUpload cvUpload = loadOwnedCv(cvId, user);
+        if (inFlight.containsKey(cvId)) {
+            return;
         }
-
         Optional<Evaluation> existingEvaluation = evaluationRepository.findByCvUpload(cvUpload);
         if (existingEvaluation.isPresent()) {
-            throw new EvaluationAlreadyExistsException("Bu CV zaten değerlendirilmiş.");
+            replayOrReject(existingEvaluation.get(), idempotencyKey);
+        }
+    }
+
+    public Evaluation analyzeCvAndVerifyUser(Long cvId, String userEmail) throws IOException, UserNotFoundException {
+        return analyzeCvAndVerifyUser(cvId, userEmail, null, LlmPriority.INTERACTIVE);
+    }
+
+    /**
+     * Aynı CV için eşzamanlı istekler tek bir LLM çağrısında birleştirilir: ilk gelen analizi yürütür,
+     * sonrakiler onun sonucunu bekler. Analiz tamamlandıktan sonra aynı {@code idempotencyKey} ile gelen
+     * tekrar denemeler yeni bir çağrı başlatmak yerine kayıtlı değerlendirmeyi alır.
+     * {@code priority}, LLM kotasında hangi şeritte bekleneceğini belirler.
+     */
+    public Evaluation analyzeCvAndVerifyUser(Long cvId, String userEmail, String idempotencyKey, LlmPriority priority) throws IOException, UserNotFoundException {
+        User user = userLookupService.findByEmail(userEmail)
+                .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
+
+        CvUpload cvUpload = loadOwnedCv(cvId, user);
+
+        CompletableFuture<Evaluation> mine = new CompletableFuture<>();
+        CompletableFuture<Evaluation> running = inFlight.putIfAbsent(cvId, mine);
+        if (running != null) {
+            return await(running);
         }
 
-        String cvText = extractTextFromCv(cvUpload.getFilePath());
-
-        String prompt = """
-                Aşağıdaki CV içeriğini titizlikle incele.
-                1. CV'yi 0 ile 100 arasında bir puanla değerlendir. Puanı, adayın pozisyona uygunluğu,
-                deneyiminin derinliği, beceri setinin çeşitliliği ve CV'nin genel kalitesi gibi faktörlere dayanarak ver.
-                2. CV'nin en güçlü yönlerini madde işaretleri halinde listeleyen kısa bir özet yaz.
-                3. Adayın kariyer gelişimine katkı sağlayacak ve CV'yi daha etkili hale getirecek, en az 3,
-                en fazla 5 adet, aksiyon odaklı iyileştirme önerisi sun. Öneriler maddeler halinde olmalıdır.
-                4. Puanı, özetini ve önerileri sadece ve kesinlikle JSON formatında döndür. JSON anahtarları 'score',
-                 'summary' ve 'recommendations' olsun. 'recommendations' alanı, madde işaretlerini içeren tek bir metin dizesi olsun.
-                5. CV analizin maximum 3000 karakter uzunluğunda olsun.
-                CV içeriği: 
-                """ + cvText;
-
-        String aiResponse = chatClient.prompt().user(prompt).call().content();
-
-        double score;
-        String summary;
         try {
-            int jsonStart = aiResponse.indexOf('{');
-            int jsonEnd = aiResponse.lastIndexOf('}');
-            String cleanedResponse = aiResponse;
+            Optional<Evaluation> existingEvaluation = evaluationRepository.findByCvUpload(cvUpload);
+            Evaluation evaluation = existingEvaluation.isPresent()
+                    ? replayOrReject(existingEvaluation.get(), idempotencyKey)
+                    : runAnalysis(cvUpload, user, idempotencyKey, priority);
+            mine.complete(evaluation);
+            return evaluation;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cvId, mine);
+        }
+    }
 
-            if (jsonStart != -1 && jsonEnd != -1 && jsonEnd > jsonStart) {
-                cleanedResponse = aiResponse.substring(jsonStart, jsonEnd + 1);
-            }
+    private Evaluation runAnalysis(CvUpload cvUpload, User user, String idempotencyKey, LlmPriority priority) throws IOException {
+        String cvText = cvTextService.getText(cvUpload);
 
-            JsonNode root = objectMapper.readTree(cleanedResponse);
-            score = root.path("score").asDouble();
-            summary = root.path("summary").asText();
+        String cacheKey = evaluationCacheService.keyFor(cvText, PROMPT_VERSION);
+        Optional<CachedEvaluation> cached = evaluationCacheService.get(cacheKey);
+        if (cached.isPresent()) {
+            return saveEvaluation(cvUpload, user, fromCache(cached.get()), idempotencyKey);
+        }
 
-            if (summary.length() > 2000) {
-                summary = summary.substring(0, 2000);
-            }
+        String prompt = PROMPT_TEMPLATE + cvText;
+        LlmEvaluationResult result;
+        try {
+            result = responseParser.parse(llmGateway.call(prompt, priority));
+        } catch (MalformedLlmResponseException e) {
+            // Bozuk yanıt çoğunlukla tekildir; bir kez daha istenir, yine bozuksa hata istemciye döner
+            result = responseParser.parse(llmGateway.call(prompt, priority));
+        }
 
-        } catch (IOException e) {
-            score = 0;
-            summary = "JSON ayrıştırma hatası oluştu: " + aiResponse;
+        return completeAnalysis(cvUpload, user, cacheKey, result, idempotencyKey);
+    }
 
-            if (summary.length() > 2000) {
-                summary = summary.substring(0, 2000);
-            }
+    /**
+     * Analizi LLM'in streaming API'si ile çalıştırır. Akış, gelen metin parçalarını "token" olayları
+     * olarak, kayıt edilen değerlendirmeyi ise son "result" olayı olarak yayınlar.
+     * Yetki kontrolleri çağıran thread'de senkron yapılır; metin okuma ve kayıt boundedElastic üzerinde çalışır.
+     * Aynı CV için süren bir analiz varsa yalnızca onun sonucu yayınlanır; bu bekleyenin bağlantıyı kapatması
+     * paylaşılan analizi etkilemez. Analizi yürüten istemci bağlantıyı kapatırsa LLM akışı da durur ve bekleyenler
+     * {@link AnalysisAbortedException} alır.
+     */
+    public Flux<AnalysisStreamEvent> streamAnalysis(Long cvId, String userEmail, String idempotencyKey) throws UserNotFoundException {
+        User user = userLookupService.findByEmail(userEmail)
+                .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
+
+        CvUpload cvUpload = loadOwnedCv(cvId, user);
+
+        CompletableFuture<Evaluation> mine = new CompletableFuture<>();
+        CompletableFuture<Evaluation> running = inFlight.putIfAbsent(cvId, mine);
+        if (running != null) {
+            return Mono.fromFuture(running, true)
+                    .map(AnalysisStreamEvent::result)
+                    .flux();
         }
 
+        return Mono.fromCallable(() -> evaluationRepository.findByCvUpload(cvUpload))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(existingEvaluation -> existingEvaluation.isPresent()
+                        ? Flux.just(AnalysisStreamEvent.result(replayOrReject(existingEvaluation.get(), idempotencyKey)))
+                        : streamFreshAnalysis(cvUpload, user, idempotencyKey))
+                .doOnNext(event -> {
+                    if (event.data() instanceof Evaluation evaluation) {
+                        mine.complete(evaluation);
+                    }
+                })
+                .doOnError(mine::completeExceptionally)
+                .doFinally(signal -> {
+                    // Önce kayıttan çıkarılır: hata alan bekleyen yeniden denerse yeni bir analiz başlatabilir
+                    inFlight.remove(cvId, mine);
+                    mine.completeExceptionally(new AnalysisAbortedException(
+                            "Analizi başlatan bağlantı kapandığı için analiz tamamlanamadı. Lütfen tekrar deneyin."));
+                });
+    }
+
+    private Flux<AnalysisStreamEvent> streamFreshAnalysis(CvUpload cvUpload, User user, String idempotencyKey) {
+        return Mono.fromCallable(() -> cvTextService.getText(cvUpload))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(cvText -> {
+                    String cacheKey = evaluationCacheService.keyFor(cvText, PROMPT_VERSION);
+                    Optional<CachedEvaluation> cached = evaluationCacheService.get(cacheKey);
+                    if (cached.isPresent()) {
+                        return Flux.just(AnalysisStreamEvent.result(
+                                saveEvaluation(cvUpload, user, fromCache(cached.get()), idempotencyKey)));
+                    }
+
+                    StringBuilder aiResponse = new StringBuilder();
+                    Mono<AnalysisStreamEvent> result = Mono
+                            .fromCallable(() -> AnalysisStreamEvent.result(
+                                    completeAnalysis(cvUpload, user, cacheKey,
+                                            responseParser.parse(aiResponse.toString()), idempotencyKey)))
+                            .subscribeOn(Schedulers.boundedElastic());
+
+                    return llmGateway.stream(PROMPT_TEMPLATE + cvText, LlmPriority.INTERACTIVE)
+                            .doOnNext(aiResponse::append)
+                            .map(AnalysisStreamEvent::token)
+                            .concatWith(result);
+                });
+    }
+
+    private Evaluation completeAnalysis(CvUpload cvUpload, User user, String cacheKey, LlmEvaluationResult result, String idempotencyKey) {
+        evaluationCacheService.put(cacheKey, PROMPT_VERSION, result);
+        return saveEvaluation(cvUpload, user, result, idempotencyKey);
+    }
+
+    private Evaluation saveEvaluation(CvUpload cvUpload, User user, LlmEvaluationResult result, String idempotencyKey) {
         Evaluation evaluation = new Evaluation();
-        evaluation.setScore(score);
-        evaluation.setAnalysisSummary(summary);
+        evaluation.setScore(result.score());
+        evaluation.setAnalysisSummary(result.summary());
+        evaluation.setRecommendations(result.recommendations());
         evaluation.setEvaluationType("AI_ANALYSIS");
         evaluation.setCvUpload(cvUpload);
         evaluation.setUser(user);
+        evaluation.setIdempotencyKey(idempotencyKey);
 
+        try {
+            return evaluationRepository.save(evaluation);
+        } catch (DataIntegrityViolationException e) {
+            // Başka bir instance aynı CV için önce kaydetti (uk_evaluation_cv); onun sonucu geçerlidir
+            return evaluationRepository.findByCvUpload(cvUpload).orElseThrow(() -> e);
+        }
+    }
 
-        return evaluationRepository.save(evaluation);
+    private static LlmEvaluationResult fromCache(CachedEvaluation cached) {
+        return new LlmEvaluationResult(cached.getScore(), cached.getSummary(), cached.getRecommendations());
+    }
+
+    private Evaluation replayOrReject(Evaluation existing, String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyKey.equals(existing.getIdempotencyKey())) {
+            return existing;
+        }
+        throw new EvaluationAlreadyExistsException("Bu CV zaten değerlendirilmiş.");
     }
 
-    public List<Evaluation> getByUserEmail(String userEmail) throws UserNotFoundException {
-        User user = userRepository.findByEmail(userEmail)
+    private static Evaluation await(CompletableFuture<Evaluation> running) throws IOException {
+        try {
+            return running.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private CvUpload loadOwnedCv(Long cvId, User user) {
+        CvUpload cvUpload = cvUploadRepository.findById(cvId)
+                .orElseThrow(() -> new CvNotFoundException("CV bulunamadı."));
+
+        if (!cvUpload.getUser().getEmail().equals(user.getEmail())) {
+            throw new UnauthorizedAccessException("Bu CV'yi analiz etme yetkiniz yok.");
+        }
+        return cvUpload;
+    }
+
+    public CursorPage<EvaluationSummary> getByUserEmail(String userEmail, String cursor, int limit) throws UserNotFoundException {
+        User user = userLookupService.findByEmail(userEmail)
                 .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı."));
 
-        return evaluationRepository.findByUser(user);
+        KeysetCursor after = KeysetCursor.decode(cursor, CREATED_AT_SORT);
+        int size = KeysetCursor.pageSize(limit);
+        List<EvaluationSummary> rows = evaluationRepository.findSummariesByUserId(user.getId(),
+                after != null ? after.dateValue() : KeysetCursor.MAX_DATE,
+                after != null ? after.id() : Long.MAX_VALUE,
+                PageRequest.ofSize(size + 1));
+        return KeysetCursor.page(rows, size, e -> KeysetCursor.encode(CREATED_AT_SORT, e.createdAt(), e.id()));
     }
 
-    private String extractTextFromCv(String filePath) throws IOException {
-        String fullPath = Paths.get("uploads", new File(filePath).getName()).toAbsolutePath().toString();
-        try (FileInputStream inputStream = new FileInputStream(new File(filePath))) {
-            AutoDetectParser parser = new AutoDetectParser();
-            BodyContentHandler handler = new BodyContentHandler(-1);
-            Metadata metadata = new Metadata();
+    /**
+     * Tüm değerlendirmeler (yönetici görünümü), tarih aralığı ve puan bandı filtreli. Verilmeyen filtre sınırsızdır.
+     * Puana göre sıralamada tarih filtresi puan indeksi üzerinde süzülerek uygulanır.
+     */
+    public CursorPage<AdminEvaluationSummary> searchAll(EvaluationSort sort,
+                                                        LocalDateTime from,
+                                                        LocalDateTime to,
+                                                        Double minScore,
+                                                        Double maxScore,
+                                                        String cursor,
+                                                        int limit) {
+        LocalDateTime fromDate = from != null ? from : KeysetCursor.MIN_DATE;
+        LocalDateTime toDate = to != null ? to : KeysetCursor.MAX_DATE;
+        double minValue = minScore != null ? minScore : -Double.MAX_VALUE;
+        double maxValue = maxScore != null ? maxScore : Double.MAX_VALUE;
+        int size = KeysetCursor.pageSize(limit);
+        PageRequest page = PageRequest.ofSize(size + 1);
 
-            parser.parse(inputStream, handler, metadata);
-            return handler.toString();
-        } catch (TikaException | SAXException e) {
-            throw new IOException("Dosya içeriği okunurken bir hata oluştu.", e);
+        if (sort == EvaluationSort.SCORE) {
+            KeysetCursor after = KeysetCursor.decode(cursor, SCORE_SORT);
+            List<AdminEvaluationSummary> rows = evaluationRepository.findAllByScore(fromDate, toDate, minValue, maxValue,
+                    after != null ? after.scoreValue() : Double.MAX_VALUE,
+                    after != null ? after.id() : Long.MAX_VALUE,
+                    page);
+            return KeysetCursor.page(rows, size, e -> KeysetCursor.encode(SCORE_SORT, e.score(), e.id()));
         }
+
+        KeysetCursor after = KeysetCursor.decode(cursor, CREATED_AT_SORT);
+        List<AdminEvaluationSummary> rows = evaluationRepository.findAllByCreatedAt(fromDate, toDate, minValue, maxValue,
+                after != null ? after.dateValue() : KeysetCursor.MAX_DATE,
+                after != null ? after.id() : Long.MAX_VALUE,
+                page);
+        return KeysetCursor.page(rows, size, e -> KeysetCursor.encode(CREATED_AT_SORT, e.createdAt(), e.id()));
     }
 
     public Evaluation getEvaluationByCvId(Long cvId) {
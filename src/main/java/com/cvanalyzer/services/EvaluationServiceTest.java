@@ -1,28 +1,52 @@
 package com.cvanalyzer.services;
 
+import com.cvanalyzer.dtos.AnalysisStreamEvent;
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.dtos.EvaluationSort;
+import com.cvanalyzer.dtos.EvaluationSummary;
+import com.cvanalyzer.entities.CachedEvaluation;
 import com.cvanalyzer.entities.CvUpload;
 import com.cvanalyzer.entities.Evaluation;
 import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.AnalysisAbortedException;
 import com.cvanalyzer.exceptions.CvNotFoundException;
 import com.cvanalyzer.exceptions.EvaluationAlreadyExistsException;
+import com.cvanalyzer.exceptions.InvalidCursorException;
+import com.cvanalyzer.exceptions.MalformedLlmResponseException;
 import com.cvanalyzer.exceptions.UnauthorizedAccessException;
 import com.cvanalyzer.exceptions.UserNotFoundException;
+import com.cvanalyzer.llm.LlmGateway;
+import com.cvanalyzer.llm.LlmPriority;
 import com.cvanalyzer.repos.CvUploadRepository;
 import com.cvanalyzer.repos.EvaluationRepository;
 import com.cvanalyzer.repos.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ai.chat.client.ChatClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,22 +62,26 @@ class EvaluationServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private ChatClient chatClient;
+    private LlmGateway llmGateway;
 
     @Mock
-    private ChatClient.Builder chatClientBuilder;
+    private EvaluationCacheService evaluationCacheService;
+
+    @Mock
+    private CvTextService cvTextService;
 
     private EvaluationService evaluationService;
 
     @BeforeEach
     void setUp() {
-        when(chatClientBuilder.build()).thenReturn(chatClient);
         evaluationService = new EvaluationService(
                 evaluationRepository,
                 cvUploadRepository,
-                userRepository,
-                chatClientBuilder,
-                new ObjectMapper()
+                new UserLookupService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)),
+                llmGateway,
+                new ObjectMapper(),
+                evaluationCacheService,
+                cvTextService
         );
     }
 
@@ -119,22 +147,259 @@ class EvaluationServiceTest {
                 () -> evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com"));
     }
 
+    // ✅ Aynı Idempotency-Key ile tekrar deneme → kayıtlı değerlendirme döner, LLM çağrılmaz
+    @Test
+    void analyzeCv_WhenRetriedWithSameIdempotencyKey_ShouldReturnExistingEvaluation() throws Exception {
+        User user = new User();
+        user.setEmail("test@test.com");
+
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setUser(user);
+
+        Evaluation existing = new Evaluation();
+        existing.setIdempotencyKey("key-1");
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(cvUploadRepository.findById(1L)).thenReturn(Optional.of(cvUpload));
+        when(evaluationRepository.findByCvUpload(cvUpload)).thenReturn(Optional.of(existing));
+
+        assertSame(existing, evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com", "key-1", LlmPriority.INTERACTIVE));
+        verifyNoInteractions(cvTextService, llmGateway);
+    }
+
+    // ✅ Aynı CV için eşzamanlı iki istek → analiz bir kez yapılır, ikisi de aynı sonucu alır
+    @Test
+    void analyzeCv_WhenCalledConcurrently_ShouldAnalyzeOnce() throws Exception {
+        User user = new User();
+        user.setEmail("test@test.com");
+
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setUser(user);
+
+        CachedEvaluation cached = CachedEvaluation.builder().score(80.0).summary("özet").build();
+        CountDownLatch extracting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(cvUploadRepository.findById(1L)).thenReturn(Optional.of(cvUpload));
+        when(evaluationRepository.findByCvUpload(cvUpload)).thenReturn(Optional.empty());
+        when(cvTextService.getText(cvUpload)).thenAnswer(invocation -> {
+            extracting.countDown();
+            release.await();
+            return "cv metni";
+        });
+        when(evaluationCacheService.keyFor("cv metni", EvaluationService.PROMPT_VERSION)).thenReturn("key");
+        when(evaluationCacheService.get("key")).thenReturn(Optional.of(cached));
+        when(evaluationRepository.save(any(Evaluation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Evaluation> leader = pool.submit(() -> evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com"));
+            assertTrue(extracting.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<Thread> followerThread = new AtomicReference<>();
+            Future<Evaluation> follower = pool.submit(() -> {
+                followerThread.set(Thread.currentThread());
+                return evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com");
+            });
+            // Takipçi lider sonucunu beklemeye başlayana kadar bekle
+            while (followerThread.get() == null || followerThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(cvTextService, times(1)).getText(cvUpload);
+        verify(evaluationRepository, times(1)).save(any(Evaluation.class));
+    }
+
+    // ✅ Akışla bekleyen istemci bağlantıyı kapatınca paylaşılan analiz sürer, diğer bekleyen sonucu alır
+    @Test
+    void streamAnalysis_WhenFollowerDisconnects_ShouldKeepSharedAnalysisRunning() throws Exception {
+        User user = new User();
+        user.setEmail("test@test.com");
+
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setUser(user);
+
+        Sinks.Many<String> llm = Sinks.many().unicast().onBackpressureBuffer();
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(cvUploadRepository.findById(1L)).thenReturn(Optional.of(cvUpload));
+        when(evaluationRepository.findByCvUpload(cvUpload)).thenReturn(Optional.empty());
+        when(cvTextService.getText(cvUpload)).thenReturn("cv metni");
+        when(evaluationCacheService.keyFor("cv metni", EvaluationService.PROMPT_VERSION)).thenReturn("key");
+        when(evaluationCacheService.get("key")).thenReturn(Optional.empty());
+        when(llmGateway.stream(anyString(), eq(LlmPriority.INTERACTIVE))).thenReturn(llm.asFlux());
+        when(evaluationRepository.save(any(Evaluation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CompletableFuture<List<AnalysisStreamEvent>> leader =
+                evaluationService.streamAnalysis(1L, "test@test.com", null).collectList().toFuture();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Thread> waiterThread = new AtomicReference<>();
+            Future<Evaluation> waiter = pool.submit(() -> {
+                waiterThread.set(Thread.currentThread());
+                return evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com");
+            });
+            while (waiterThread.get() == null || waiterThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+
+            Disposable follower = evaluationService.streamAnalysis(1L, "test@test.com", null).subscribe();
+            follower.dispose();
+
+            llm.tryEmitNext("{\"score\": 82, \"summary\": \"Güçlü backend deneyimi\", "
+                    + "\"recommendations\": \"- Projeleri ölçülebilir sonuçlarla anlat\"}");
+            llm.tryEmitComplete();
+
+            List<AnalysisStreamEvent> events = leader.get(5, TimeUnit.SECONDS);
+            Evaluation result = (Evaluation) events.get(events.size() - 1).data();
+            assertEquals(82, result.getScore());
+            assertSame(result, waiter.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(llmGateway, times(1)).stream(anyString(), eq(LlmPriority.INTERACTIVE));
+        verify(evaluationRepository, times(1)).save(any(Evaluation.class));
+    }
+
+    // ❌ Analizi yürüten istemci bağlantıyı kapatınca bekleyenler iptal yerine açıklamalı bir hata alır
+    @Test
+    void streamAnalysis_WhenLeaderDisconnects_ShouldFailWaitersWithAbortedException() throws Exception {
+        User user = new User();
+        user.setEmail("test@test.com");
+
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setUser(user);
+
+        CountDownLatch extracting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(cvUploadRepository.findById(1L)).thenReturn(Optional.of(cvUpload));
+        when(evaluationRepository.findByCvUpload(cvUpload)).thenReturn(Optional.empty());
+        when(cvTextService.getText(cvUpload)).thenAnswer(invocation -> {
+            extracting.countDown();
+            release.await();
+            return "cv metni";
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Disposable leader = evaluationService.streamAnalysis(1L, "test@test.com", null).subscribe();
+            assertTrue(extracting.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<List<AnalysisStreamEvent>> streamFollower =
+                    evaluationService.streamAnalysis(1L, "test@test.com", null).collectList().toFuture();
+            AtomicReference<Thread> waiterThread = new AtomicReference<>();
+            Future<Evaluation> waiter = pool.submit(() -> {
+                waiterThread.set(Thread.currentThread());
+                return evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com");
+            });
+            while (waiterThread.get() == null || waiterThread.get().getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+
+            leader.dispose();
+
+            ExecutionException syncError = assertThrows(ExecutionException.class,
+                    () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AnalysisAbortedException.class, syncError.getCause());
+            ExecutionException streamError = assertThrows(ExecutionException.class,
+                    () -> streamFollower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(AnalysisAbortedException.class, streamError.getCause());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+
+        verifyNoInteractions(llmGateway);
+        verify(evaluationRepository, never()).save(any(Evaluation.class));
+    }
+
+    // ❌ Model iki kez bozuk yanıt döndü → hata, 0 puanlı değerlendirme kaydedilmez
+    @Test
+    void analyzeCv_WhenResponseIsMalformedTwice_ShouldThrowWithoutSaving() throws Exception {
+        User user = new User();
+        user.setEmail("test@test.com");
+
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setUser(user);
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(cvUploadRepository.findById(1L)).thenReturn(Optional.of(cvUpload));
+        when(evaluationRepository.findByCvUpload(cvUpload)).thenReturn(Optional.empty());
+        when(cvTextService.getText(cvUpload)).thenReturn("cv metni");
+        when(evaluationCacheService.keyFor("cv metni", EvaluationService.PROMPT_VERSION)).thenReturn("key");
+        when(evaluationCacheService.get("key")).thenReturn(Optional.empty());
+        when(llmGateway.call(anyString(), eq(LlmPriority.INTERACTIVE))).thenReturn("Bu CV oldukça iyi.");
+
+        assertThrows(MalformedLlmResponseException.class,
+                () -> evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com"));
+
+        verify(llmGateway, times(2)).call(anyString(), eq(LlmPriority.INTERACTIVE));
+        verify(evaluationRepository, never()).save(any(Evaluation.class));
+        verify(evaluationCacheService, never()).put(anyString(), anyString(), any());
+    }
+
     // ✅ Kullanıcıya ait değerlendirmeler listelendi
     @Test
     void getByUserEmail_WhenUserExists_ShouldReturnEvaluations() throws UserNotFoundException {
         User user = new User();
+        user.setId(1L);
+        user.setEmail("test@test.com");
+
+        EvaluationSummary e1 = new EvaluationSummary(1L, 80, "Özet", "Öneriler", null, "GENERAL", 10L, "cv1.pdf");
+        EvaluationSummary e2 = new EvaluationSummary(2L, 65, "Özet", "Öneriler", null, "GENERAL", 11L, "cv2.pdf");
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(evaluationRepository.findSummariesByUserId(eq(1L), any(), any(), any())).thenReturn(List.of(e1, e2));
+
+        CursorPage<EvaluationSummary> result = evaluationService.getByUserEmail("test@test.com", null, 20);
+
+        assertEquals(2, result.items().size());
+        assertNull(result.nextCursor());
+        verify(evaluationRepository, times(1)).findSummariesByUserId(eq(1L), any(), any(), any());
+    }
+
+    // ✅ Sayfa boyutundan fazla satır varsa sonraki sayfanın imleci son satırdan üretilir
+    @Test
+    void getByUserEmail_WhenMoreRowsThanLimit_ShouldReturnNextCursor() throws UserNotFoundException {
+        User user = new User();
+        user.setId(1L);
         user.setEmail("test@test.com");
 
-        Evaluation e1 = new Evaluation();
-        Evaluation e2 = new Evaluation();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        EvaluationSummary e1 = new EvaluationSummary(7L, 80, "Özet", "Öneriler", createdAt, "GENERAL", 10L, "cv1.pdf");
+        EvaluationSummary e2 = new EvaluationSummary(6L, 65, "Özet", "Öneriler", createdAt, "GENERAL", 11L, "cv2.pdf");
 
         when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
-        when(evaluationRepository.findByUser(user)).thenReturn(List.of(e1, e2));
+        when(evaluationRepository.findSummariesByUserId(eq(1L), any(), any(), any())).thenReturn(List.of(e1, e2));
+
+        CursorPage<EvaluationSummary> first = evaluationService.getByUserEmail("test@test.com", null, 1);
 
-        List<Evaluation> result = evaluationService.getByUserEmail("test@test.com");
+        assertEquals(List.of(e1), first.items());
+        assertNotNull(first.nextCursor());
+
+        evaluationService.getByUserEmail("test@test.com", first.nextCursor(), 1);
+
+        verify(evaluationRepository).findSummariesByUserId(eq(1L), eq(createdAt), eq(7L), any());
+    }
+
+    // ❌ Başka sıralamaya ait ya da bozuk imleç reddedilir
+    @Test
+    void searchAll_WhenCursorIsInvalid_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> evaluationService.searchAll(EvaluationSort.SCORE, null, null, null, null, "bozuk-imlec", 20));
 
-        assertEquals(2, result.size());
-        verify(evaluationRepository, times(1)).findByUser(user);
+        verifyNoInteractions(evaluationRepository);
     }
 
     // ❌ Kullanıcı bulunamadı — getByUserEmail
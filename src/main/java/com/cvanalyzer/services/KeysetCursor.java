@@ -0,0 +1,91 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.dtos.CursorPage;
+import com.cvanalyzer.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset sayfalama imleci: önceki sayfanın son satırının sıralama değeri ve id'si. Sorgu OFFSET yerine bu değerden
+ * devam eder, böylece her sayfa indeks üzerinde aynı maliyette okunur. İstemciye opak (Base64) bir metin olarak
+ * verilir; içinde sıralama adı da taşınır ve başka bir sıralamanın imleci reddedilir.
+ */
+final class KeysetCursor {
+
+    static final int MAX_PAGE_SIZE = 100;
+    // İlk sayfada ve verilmeyen filtrelerde kullanılan sınırlar (MySQL DATETIME aralığı)
+    static final LocalDateTime MIN_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+    static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String INVALID_MESSAGE = "Geçersiz sayfa imleci.";
+
+    private final String value;
+    private final long id;
+
+    private KeysetCursor(String value, long id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    // İmleç yoksa null döner; çağıran ilk sayfanın sınırlarını kullanır
+    static KeysetCursor decode(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new InvalidCursorException(INVALID_MESSAGE);
+            }
+            return new KeysetCursor(parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_MESSAGE);
+        }
+    }
+
+    static String encode(String sort, Object value, long id) {
+        String raw = sort + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Sayfa boyutundan bir fazla okunan satırlardan yanıtı kurar; fazla satır varsa sonraki sayfa vardır ve imleç
+     * sayfanın son satırından üretilir.
+     */
+    static <T> CursorPage<T> page(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(size - 1)));
+    }
+
+    LocalDateTime dateValue() {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException(INVALID_MESSAGE);
+        }
+    }
+
+    double scoreValue() {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(INVALID_MESSAGE);
+        }
+    }
+
+    long id() {
+        return id;
+    }
+}
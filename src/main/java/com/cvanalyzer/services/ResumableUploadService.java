@@ -0,0 +1,219 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.dtos.UploadSessionRequest;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.UploadSession;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.FileStorageException;
+import com.cvanalyzer.exceptions.FileValidationException;
+import com.cvanalyzer.exceptions.UnauthorizedAccessException;
+import com.cvanalyzer.exceptions.UploadOffsetMismatchException;
+import com.cvanalyzer.exceptions.UploadSessionNotFoundException;
+import com.cvanalyzer.repos.UploadSessionRepository;
+import com.cvanalyzer.storage.CvBlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Kesintiye dayanıklı yükleme: istemci bir oturum açar, dosyayı parçalar halinde {@code Upload-Offset}
+ * konumlarına gönderir ve sonunda tamamlar. Parçalar doğrudan geçici dosyadaki yerlerine yazılır; bağlantı
+ * koparsa o ana kadar yazılan kısım korunur ve istemci kaldığı yerden devam eder. Tamamlanan dosya depoya
+ * kopyalanmadan taşınır.
+ * <p>
+ * Geçici dosya yüklemeyi alan node'un diskindedir; birden fazla replikada oturumlar aynı node'a yönlenmeli
+ * ya da {@code cvanalyzer.storage.tmp-dir} paylaşımlı olmalıdır.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] PDF_MAGIC = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final byte[] OLE2_MAGIC = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final CvUploadService cvUploadService;
+    private final CvBlobStore cvBlobStore;
+    private final Duration sessionTtl;
+
+    public ResumableUploadService(UploadSessionRepository uploadSessionRepository,
+                                  CvUploadService cvUploadService,
+                                  CvBlobStore cvBlobStore,
+                                  @Value("${cvanalyzer.upload.session-ttl:24h}") Duration sessionTtl) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.cvUploadService = cvUploadService;
+        this.cvBlobStore = cvBlobStore;
+        this.sessionTtl = sessionTtl;
+    }
+
+    // Boyut, tür, dosya adı ve kullanıcı başına sınır daha ilk baytlar gelmeden kontrol edilir
+    public UploadSession create(User user, UploadSessionRequest request) {
+        if (request.getFileSize() <= 0) {
+            throw new FileValidationException("Dosya boş olamaz.");
+        }
+        cvUploadService.validate(user, request.getFileName(), request.getFileType(), request.getFileSize());
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .userEmail(user.getEmail())
+                .fileName(request.getFileName())
+                .fileType(request.getFileType())
+                .totalSize(request.getFileSize())
+                .receivedBytes(0)
+                .createdAt(now)
+                .expiresAt(now.plus(sessionTtl))
+                .build();
+        return uploadSessionRepository.save(session);
+    }
+
+    public UploadSession getSession(String id, String userEmail) {
+        UploadSession session = uploadSessionRepository.findById(id)
+                .filter(s -> s.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new UploadSessionNotFoundException("Yükleme oturumu bulunamadı veya süresi doldu."));
+
+        if (!session.getUserEmail().equals(userEmail)) {
+            throw new UnauthorizedAccessException("Bu yükleme oturumuna erişim yetkiniz yok.");
+        }
+        return session;
+    }
+
+    /**
+     * Parçayı {@code offset} konumuna yazar ve baştan itibaren kesintisiz alınan bayt sayısını döner. Parça, alınan
+     * son bayttan sonra başlayamaz; aynı parçanın tekrar gönderilmesi zararsızdır.
+     */
+    public long writeChunk(String id, String userEmail, long offset, InputStream body) {
+        UploadSession session = getSession(id, userEmail);
+        if (offset < 0 || offset > session.getReceivedBytes()) {
+            throw new UploadOffsetMismatchException(
+                    "Parça " + session.getReceivedBytes() + ". bayttan önce başlamalı.");
+        }
+
+        long position = offset;
+        try (FileChannel channel = FileChannel.open(partFile(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (position + read > session.getTotalSize()) {
+                    throw new FileValidationException("Parça, bildirilen dosya boyutunu aşıyor.");
+                }
+                wrapped.clear().limit(read);
+                while (wrapped.hasRemaining()) {
+                    position += channel.write(wrapped, position);
+                }
+            }
+        } catch (IOException e) {
+            // Bağlantı koptuysa diske yazılabilen kısım kaybolmasın
+            advance(id, offset, position);
+            throw new FileStorageException("Parça yazılamadı.", e);
+        }
+        advance(id, offset, position);
+
+        return uploadSessionRepository.findById(id)
+                .map(UploadSession::getReceivedBytes)
+                .orElse(position);
+    }
+
+    /**
+     * Tüm baytlar geldiyse dosyanın gerçek türünü ilk baytlarından doğrular ve CV kaydını oluşturur;
+     * metin çıkarma her yüklemede olduğu gibi arka planda başlar.
+     */
+    public CvUpload complete(String id, User user) {
+        UploadSession session = getSession(id, user.getEmail());
+        if (session.getReceivedBytes() != session.getTotalSize()) {
+            throw new FileValidationException("Yükleme tamamlanmadı: " + session.getReceivedBytes() + "/"
+                    + session.getTotalSize() + " bayt alındı.");
+        }
+
+        Path part = partFile(id);
+        String detectedType = detectType(part);
+        if (!session.getFileType().equals(detectedType)) {
+            throw new FileValidationException("Dosya içeriği bildirilen türle uyuşmuyor.");
+        }
+
+        CvUpload cvUpload = cvUploadService.upload(user, session.getFileName(), session.getFileType(), part);
+        discard(session);
+        return cvUpload;
+    }
+
+    public void abort(String id, String userEmail) {
+        discard(getSession(id, userEmail));
+    }
+
+    @Scheduled(fixedDelayString = "${cvanalyzer.upload.cleanup-interval:PT1H}")
+    public void deleteExpiredSessions() {
+        for (UploadSession session : uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            try {
+                discard(session);
+            } catch (RuntimeException e) {
+                log.warn("Süresi dolan yükleme oturumu silinemedi ({}): {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void advance(String id, long offset, long end) {
+        if (end > offset) {
+            uploadSessionRepository.advance(id, offset, end);
+        }
+    }
+
+    private void discard(UploadSession session) {
+        uploadSessionRepository.delete(session);
+        try {
+            Files.deleteIfExists(partFile(session.getId()));
+        } catch (IOException e) {
+            throw new FileStorageException("Yükleme dosyası silinemedi.", e);
+        }
+    }
+
+    private Path partFile(String id) {
+        try {
+            return cvBlobStore.tempPath("session-" + id + ".part");
+        } catch (IOException e) {
+            throw new FileStorageException("Geçici yükleme dizini oluşturulamadı.", e);
+        }
+    }
+
+    // Bildirilen Content-Type'a güvenilmez; dosya imzası (magic bytes) okunur
+    static String detectType(Path file) {
+        byte[] header = new byte[OLE2_MAGIC.length];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, header.length);
+        } catch (IOException e) {
+            throw new FileStorageException("Yüklenen dosya okunamadı.", e);
+        }
+        if (startsWith(header, read, PDF_MAGIC)) {
+            return "application/pdf";
+        }
+        if (startsWith(header, read, ZIP_MAGIC)) {
+            return "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        }
+        if (startsWith(header, read, OLE2_MAGIC)) {
+            return "application/msword";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte[] magic) {
+        return length >= magic.length && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+    }
+}
@@ -0,0 +1,65 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.cache.LruTtlCache;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.repos.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * İstek başına yapılan e-posta → kullanıcı sorgusunu bellekte tutar.
+ * <p>
+ * Dönen {@link User} veritabanı oturumundan bağımsızdır (detached): ilişki alanı olarak atanabilir
+ * ve basit alanları okunabilir, ancak lazy koleksiyonlarına erişilmemeli ve üzerinde değişiklik
+ * yapılmamalıdır. Kullanıcıyı değiştiren işlemler kaydı {@link #invalidate(String)} ile düşürür;
+ * diğer instance'larda değişiklik en geç TTL sonunda görünür.
+ */
+@Service
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+    private final LruTtlCache<String, User> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserLookupService(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${cvanalyzer.user-cache.max-entries:10000}") int maxEntries,
+                             @Value("${cvanalyzer.user-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = new LruTtlCache<>(maxEntries, ttl);
+
+        this.hits = Counter.builder("user.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("user.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("user.cache.size", cache, LruTtlCache::size)
+                .register(meterRegistry);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        Optional<User> cached = cache.get(email);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        // Olmayan kullanıcılar önbelleğe alınmaz; kayıt olan kullanıcı hemen bulunabilmeli
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(found -> cache.put(email, found));
+        return user;
+    }
+
+    public void invalidate(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -4,9 +4,11 @@ import com.cvanalyzer.dtos.JwtResponse;
 import com.cvanalyzer.dtos.UserRegistrationRequest;
 import com.cvanalyzer.entities.Role;
 import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.PasswordHashingBusyException;
 import com.cvanalyzer.exceptions.UserAlreadyExistsException;
 import com.cvanalyzer.repos.UserRepository;
 import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.security.PasswordHasher;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.context.annotation.Lazy;
@@ -14,7 +16,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -24,24 +25,48 @@ import java.util.Optional;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     private final JwtUtil jwtUtil;
+    private final UserLookupService userLookupService;
+    private final CvUploadService cvUploadService;
 
-    public UserService(UserRepository userRepository, @Lazy PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserService(UserRepository userRepository, @Lazy PasswordHasher passwordHasher, JwtUtil jwtUtil,
+                       UserLookupService userLookupService, CvUploadService cvUploadService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
+        this.userLookupService = userLookupService;
+        this.cvUploadService = cvUploadService;
     }
 
     public User getUserByEmail(String email){
-        return userRepository.findByEmail(email)
+        return userLookupService.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
     }
+
+    // Login şifre kontrolü için kullanılır; başka instance'ta değişmiş bir şifreyi kaçırmamak için önbelleğe bakmaz
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
+    // Doğru şifrede, hash eski cost ile üretilmişse yeni cost ile yeniden hash'lenir
+    public boolean verifyPassword(User user, String rawPassword) {
+        if (!passwordHasher.matches(rawPassword, user.getPassword())) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHasher.encode(rawPassword));
+                userRepository.save(user);
+                userLookupService.invalidate(user.getEmail());
+            } catch (PasswordHashingBusyException e) {
+                // Havuz doluysa login'i bozmadan atlanır; bir sonraki girişte tekrar denenir
+            }
+        }
+        return true;
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username)
@@ -64,7 +89,7 @@ public class UserService implements UserDetailsService {
         newUser.setName(request.getName());
         newUser.setSurname(request.getSurname());
         newUser.setEmail(request.getEmail());
-        newUser.setPassword(passwordEncoder.encode(request.getPassword()));
+        newUser.setPassword(passwordHasher.encode(request.getPassword()));
         newUser.setRole(Role.USER);
 
         userRepository.save(newUser);
@@ -74,11 +99,15 @@ public class UserService implements UserDetailsService {
         return new JwtResponse(token);
     }
 
+    // CV'ler cascade'e bırakılmaz: paylaşılan blob referansları bırakılmazsa dosyalar depoda sahipsiz kalır
+    @Transactional
     public void deleteUser(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        cvUploadService.deleteAllByUser(user);
         userRepository.delete(user);
+        userLookupService.invalidate(email);
     }
 
     @Transactional
@@ -86,16 +115,19 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        if(!passwordEncoder.matches(currentPassowrd, user.getPassword())) {
+        if(!passwordHasher.matches(currentPassowrd, user.getPassword())) {
             throw new RuntimeException("Mevcut şifreniz hatalı!");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
+        userLookupService.invalidate(email);
     }
     public User registerAdmin(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()));
         user.setRole(Role.ADMIN);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userLookupService.invalidate(saved.getEmail());
+        return saved;
     }
 }
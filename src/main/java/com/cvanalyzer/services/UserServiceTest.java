@@ -7,15 +7,18 @@ import com.cvanalyzer.entities.User;
 import com.cvanalyzer.exceptions.UserAlreadyExistsException;
 import com.cvanalyzer.repos.UserRepository;
 import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,14 +32,23 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtil;
 
-    @InjectMocks
+    @Mock
+    private CvUploadService cvUploadService;
+
     private UserService userService;
 
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, passwordHasher, jwtUtil,
+                new UserLookupService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)),
+                cvUploadService);
+    }
+
     // ✅ Kayıt başarılı
     @Test
     void registerUser_WhenEmailNotExists_ShouldReturnToken() {
@@ -47,7 +59,7 @@ class UserServiceTest {
         request.setPassword("1234");
 
         when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(request.getPassword())).thenReturn("hashedPassword");
+        when(passwordHasher.encode(request.getPassword())).thenReturn("hashedPassword");
         when(jwtUtil.generateToken(any(), any())).thenReturn("mockToken");
 
         JwtResponse response = userService.registerUser(request);
@@ -118,8 +130,8 @@ class UserServiceTest {
         user.setPassword("hashedOldPassword");
 
         when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("oldPassword", "hashedOldPassword")).thenReturn(true);
-        when(passwordEncoder.encode("newPassword")).thenReturn("hashedNewPassword");
+        when(passwordHasher.matches("oldPassword", "hashedOldPassword")).thenReturn(true);
+        when(passwordHasher.encode("newPassword")).thenReturn("hashedNewPassword");
 
         userService.changePassword("test@test.com", "oldPassword", "newPassword");
 
@@ -135,11 +147,57 @@ class UserServiceTest {
         user.setPassword("hashedOldPassword");
 
         when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("wrongPassword", "hashedOldPassword")).thenReturn(false);
+        when(passwordHasher.matches("wrongPassword", "hashedOldPassword")).thenReturn(false);
 
         assertThrows(RuntimeException.class,
                 () -> userService.changePassword("test@test.com", "wrongPassword", "newPassword"));
 
         verify(userRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    // ✅ Login — eski cost ile üretilmiş hash yeniden hash'lenir
+    @Test
+    void verifyPassword_WhenHashUsesOldCost_ShouldRehashAndSave() {
+        User user = new User();
+        user.setEmail("test@test.com");
+        user.setPassword("hashedWithCost10");
+
+        when(passwordHasher.matches("password", "hashedWithCost10")).thenReturn(true);
+        when(passwordHasher.needsRehash("hashedWithCost10")).thenReturn(true);
+        when(passwordHasher.encode("password")).thenReturn("hashedWithCost12");
+
+        assertTrue(userService.verifyPassword(user, "password"));
+
+        assertEquals("hashedWithCost12", user.getPassword());
+        verify(userRepository, times(1)).save(user);
+    }
+
+    // ❌ Login — yanlış şifrede yeniden hash yapılmaz
+    @Test
+    void verifyPassword_WhenPasswordWrong_ShouldNotRehash() {
+        User user = new User();
+        user.setPassword("hashedWithCost10");
+
+        when(passwordHasher.matches("wrongPassword", "hashedWithCost10")).thenReturn(false);
+
+        assertFalse(userService.verifyPassword(user, "wrongPassword"));
+
+        verify(passwordHasher, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    // ✅ Hesap silinirken CV'ler ve blob referansları kullanıcıdan önce bırakılır
+    @Test
+    void deleteUser_WhenUserExists_ShouldReleaseCvsBeforeDeletingUser() {
+        User user = new User();
+        user.setEmail("test@test.com");
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+
+        userService.deleteUser("test@test.com");
+
+        InOrder inOrder = inOrder(cvUploadService, userRepository);
+        inOrder.verify(cvUploadService).deleteAllByUser(user);
+        inOrder.verify(userRepository).delete(user);
+    }
+}
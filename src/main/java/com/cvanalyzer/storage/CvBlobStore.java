@@ -0,0 +1,195 @@
+package com.cvanalyzer.storage;
+
+import com.cvanalyzer.entities.CvBlob;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.repos.CvBlobRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * CV dosyalarını içerik özetine göre {@code ab/cd/<sha256>} anahtarıyla {@link CvStorage} üzerinde saklar. Aynı
+ * içerik bir kez yazılır; referanslar {@link CvBlob#getRefCount()} ile sayılır.
+ * <p>
+ * Yükleme önce yerel geçici dosyaya, özet akış sırasında hesaplanarak yazılır. Referans artırma ve nesnenin depoya
+ * konması aynı transaction'da, blob satırının kilidi altında yapılır; böylece son referansı bırakan bir silme ile
+ * aynı içeriğin yeniden yüklenmesi birbirinin dosyasını silemez.
+ */
+@Component
+public class CvBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CvBlobStore.class);
+
+    private final CvBlobRepository cvBlobRepository;
+    private final CvStorage storage;
+    private final TransactionTemplate requiresNew;
+    private final Path tmpDir;
+    private final Duration presignTtl;
+
+    public CvBlobStore(CvBlobRepository cvBlobRepository,
+                       CvStorage storage,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${cvanalyzer.storage.tmp-dir:${cvanalyzer.storage.root:uploads}/tmp}") String tmpDir,
+                       @Value("${cvanalyzer.storage.presign-ttl:5m}") Duration presignTtl) {
+        this.cvBlobRepository = cvBlobRepository;
+        this.storage = storage;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tmpDir = Paths.get(tmpDir).toAbsolutePath().normalize();
+        this.presignTtl = presignTtl;
+    }
+
+    /**
+     * Akışı saklar ve blob'a bir referans ekler. Çağıran, kaydı oluşturamazsa {@link #release(String)} çağırmalıdır.
+     */
+    @Transactional
+    public StoredBlob store(InputStream inputStream) throws IOException {
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(inputStream, digest)) {
+                size = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return register(HexFormat.of().formatHex(digest.digest()), size, tmp);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Sunucuda zaten duran bir dosyayı (ör. parça parça yüklenmiş) saklar. Dosya depoya taşınabilir; taşınmadıysa
+     * silmek çağırana aittir. Geçici dizinde oluşturulmuş dosyalar dosya sistemi deposuna kopyalanmadan taşınır.
+     */
+    @Transactional
+    public StoredBlob store(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        long size;
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            size = in.transferTo(OutputStream.nullOutputStream());
+        }
+        return register(HexFormat.of().formatHex(digest.digest()), size, file);
+    }
+
+    // Depoyla aynı dosya sistemindeki geçici dizinde bir yol; yüklenen dosya buradan depoya taşınır
+    public Path tempPath(String fileName) throws IOException {
+        Files.createDirectories(tmpDir);
+        return tmpDir.resolve(fileName);
+    }
+
+    private StoredBlob register(String hash, long size, Path file) throws IOException {
+        // Satır kilidi alınır; aynı blob üzerindeki silme commit edilene kadar beklenir
+        cvBlobRepository.acquire(hash, size, LocalDateTime.now());
+
+        String key = keyOf(hash);
+        if (!storage.exists(key)) {
+            storage.put(key, file);
+        }
+        return new StoredBlob(hash, size, key);
+    }
+
+    /**
+     * Bir referansı bırakır. Son referanssa satır silinir; dosya ise transaction commit edildikten sonra,
+     * bu arada aynı içerik yeniden yüklenmediyse silinir.
+     */
+    @Transactional
+    public void release(String sha256) {
+        Optional<CvBlob> locked = cvBlobRepository.findForUpdate(sha256);
+        if (locked.isEmpty()) {
+            return;
+        }
+        CvBlob blob = locked.get();
+        if (blob.getRefCount() > 1) {
+            blob.setRefCount(blob.getRefCount() - 1);
+            return;
+        }
+        cvBlobRepository.delete(blob);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteIfUnreferenced(sha256);
+            }
+        });
+    }
+
+    // contentHash'i olmayan eski kayıtlar düz "uploads/<dosya adı>" yolunda, yerel diskte durur
+    public InputStream open(CvUpload cvUpload) throws IOException {
+        return cvUpload.getContentHash() != null
+                ? storage.open(keyOf(cvUpload.getContentHash()))
+                : Files.newInputStream(Paths.get(cvUpload.getFilePath()));
+    }
+
+    public Optional<Path> localPath(CvUpload cvUpload) {
+        return cvUpload.getContentHash() != null
+                ? storage.localPath(keyOf(cvUpload.getContentHash()))
+                : Optional.of(Paths.get(cvUpload.getFilePath()));
+    }
+
+    public Optional<URI> presignedDownloadUrl(CvUpload cvUpload) {
+        if (cvUpload.getContentHash() == null) {
+            return Optional.empty();
+        }
+        return storage.presignedDownloadUrl(keyOf(cvUpload.getContentHash()),
+                cvUpload.getFileName(), cvUpload.getFileType(), presignTtl);
+    }
+
+    public void deleteLegacy(CvUpload cvUpload) throws IOException {
+        if (cvUpload.getContentHash() == null) {
+            Files.deleteIfExists(Paths.get(cvUpload.getFilePath()));
+        }
+    }
+
+    static String keyOf(String sha256) {
+        return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    // Kilitli okuma, satır yoksa da (InnoDB gap lock) aynı anahtarın eklenmesini dosya silinene kadar bekletir
+    private void deleteIfUnreferenced(String sha256) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (cvBlobRepository.findForUpdate(sha256).isEmpty()) {
+                    try {
+                        storage.delete(keyOf(sha256));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Referansı kalmayan CV dosyası silinemedi ({}): {}", sha256, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cvanalyzer.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * CV dosyalarının tutulduğu arka uç. Anahtarlar {@link CvBlobStore} tarafından içerik özetinden üretilir
+ * ({@code ab/cd/<sha256>}) ve değişmez; aynı anahtara yazılan içerik her zaman aynıdır.
+ */
+public interface CvStorage {
+
+    /**
+     * Yerel dosyayı verilen anahtara yazar. Dosya taşınabilir; çağıran işlem sonunda varsa siler.
+     */
+    void put(String key, Path file) throws IOException;
+
+    /**
+     * İçeriği akış olarak açar. Anahtar yoksa {@link java.nio.file.NoSuchFileException} fırlatır.
+     */
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Nesne yerel diskte duruyorsa yolu. İndirmede Range ve sendfile (sıfır kopya) için kullanılır.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * İstemcinin dosyayı doğrudan arka uçtan indirebileceği süreli URL. Desteklemeyen arka uçlar boş döner
+     * ve dosya uygulama üzerinden akıtılır.
+     */
+    Optional<URI> presignedDownloadUrl(String key, String fileName, String contentType, Duration ttl);
+}
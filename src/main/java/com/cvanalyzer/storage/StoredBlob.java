@@ -0,0 +1,4 @@
+package com.cvanalyzer.storage;
+
+public record StoredBlob(String sha256, long size, String key) {
+}
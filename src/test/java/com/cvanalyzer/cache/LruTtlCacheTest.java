@@ -0,0 +1,72 @@
+package com.cvanalyzer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruTtlCacheTest {
+
+    // ✅ Kapasite aşılınca en uzun süredir kullanılmayan kayıt atılır
+    @Test
+    void put_WhenCapacityExceeded_ShouldEvictLeastRecentlyUsed() {
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(2, Duration.ofMinutes(5));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertTrue(cache.get("a").isPresent());
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("c").isPresent());
+        assertEquals(2, cache.size());
+    }
+
+    // ✅ Süresi dolan kayıt döndürülmez
+    @Test
+    void get_WhenEntryExpired_ShouldReturnEmpty() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        LruTtlCache<String, Integer> cache = new LruTtlCache<>(10, Duration.ofMinutes(5), clock);
+        cache.put("a", 1);
+
+        clock.advance(Duration.ofMinutes(4));
+        assertEquals(1, cache.get("a").orElseThrow());
+
+        clock.advance(Duration.ofMinutes(2));
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
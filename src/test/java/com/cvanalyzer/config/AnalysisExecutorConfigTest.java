@@ -0,0 +1,48 @@
+package com.cvanalyzer.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Analiz havuzu virtual thread kararını özellikten değil, Tomcat ve Reactor ile aynı koşullu yapılandırmadan alır.
+ */
+class AnalysisExecutorConfigTest {
+
+    private final AnalysisExecutorConfig config = new AnalysisExecutorConfig();
+
+    // ✅ Virtual thread kapalı derlenmiş ve kapalı çalışıyor → platform worker havuzu
+    @Test
+    void analysisExecutor_WhenModesAgree_ShouldUsePlatformWorkers() {
+        ThreadPoolExecutor executor = config.analysisExecutor(4, 200, 50, virtualThreadConfig(false),
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "false"), new SimpleMeterRegistry());
+        try {
+            assertEquals(4, executor.getCorePoolSize());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // ❌ AOT imajı virtual thread açık derlenmiş, çalışma anında kapatılmış → açılış durur
+    @Test
+    void analysisExecutor_WhenRuntimeFlagDisagreesWithBuild_ShouldFailFast() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> config.analysisExecutor(4, 200, 50, virtualThreadConfig(true),
+                        new MockEnvironment().withProperty("spring.threads.virtual.enabled", "false"),
+                        new SimpleMeterRegistry()));
+
+        assertTrue(ex.getMessage().contains("SPRING_AOT=false"));
+    }
+
+    private static ObjectProvider<VirtualThreadConfig> virtualThreadConfig(boolean present) {
+        return new StaticListableBeanFactory(present ? Map.of("virtualThreadConfig", new VirtualThreadConfig()) : Map.of())
+                .getBeanProvider(VirtualThreadConfig.class);
+    }
+}
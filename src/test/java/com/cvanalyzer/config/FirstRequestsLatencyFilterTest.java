@@ -0,0 +1,39 @@
+package com.cvanalyzer.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FirstRequestsLatencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // ✅ Örnek sayısı dolunca p99 yayınlanır
+    @Test
+    void doFilter_WhenSampleIsFull_ShouldPublishP99() throws Exception {
+        FirstRequestsLatencyFilter filter = new FirstRequestsLatencyFilter(meterRegistry, 3);
+
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/auth/me"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        assertTrue(Double.isNaN(meterRegistry.get("startup.first.requests.p99").gauge().value()));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/auth/me"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(meterRegistry.get("startup.first.requests.p99").gauge().value() >= 0);
+    }
+
+    // ❌ Probe istekleri örneğe girmez
+    @Test
+    void doFilter_WhenActuatorRequest_ShouldNotCount() throws Exception {
+        FirstRequestsLatencyFilter filter = new FirstRequestsLatencyFilter(meterRegistry, 1);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health/readiness"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(Double.isNaN(meterRegistry.get("startup.first.requests.p99").gauge().value()));
+    }
+}
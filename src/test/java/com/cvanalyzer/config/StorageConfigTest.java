@@ -0,0 +1,47 @@
+package com.cvanalyzer.config;
+
+import com.cvanalyzer.storage.CvStorage;
+import com.cvanalyzer.storage.FilesystemCvStorage;
+import com.cvanalyzer.storage.S3CvStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Depolama arka ucu açılışta, özellik değerine göre seçilir (AOT ile derlenmiş imajda da geçerli).
+ */
+class StorageConfigTest {
+
+    @TempDir
+    Path dir;
+
+    // ✅ Varsayılan dosya sistemi deposu
+    @Test
+    void cvStorage_WhenTypeIsFilesystem_ShouldCreateFilesystemStorage() {
+        assertInstanceOf(FilesystemCvStorage.class, config("filesystem").cvStorage());
+    }
+
+    // ✅ s3 seçildiğinde S3 deposu kurulur (bağlantı açılmaz)
+    @Test
+    void cvStorage_WhenTypeIsS3_ShouldCreateS3Storage() throws Exception {
+        CvStorage storage = config("S3").cvStorage();
+
+        assertInstanceOf(S3CvStorage.class, storage);
+        ((S3CvStorage) storage).close();
+    }
+
+    // ❌ Bilinmeyen tür açılışı durdurur
+    @Test
+    void cvStorage_WhenTypeIsUnknown_ShouldThrowException() {
+        assertThrows(IllegalStateException.class, () -> config("ftp").cvStorage());
+    }
+
+    private StorageConfig config(String type) {
+        return new StorageConfig(type, dir.toString(), "http://localhost:9000", "", "us-east-1", true,
+                "minioadmin", "minioadmin", "cv-uploads", DataSize.ofMegabytes(8));
+    }
+}
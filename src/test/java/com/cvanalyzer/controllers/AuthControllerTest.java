@@ -0,0 +1,70 @@
+package com.cvanalyzer.controllers;
+
+import com.cvanalyzer.exceptions.GlobalExceptionHandler;
+import com.cvanalyzer.exceptions.PasswordHashingBusyException;
+import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    private static final String EMAIL = "ik@firma.com";
+    private static final String BODY = "{\"currentPassword\": \"Eski123!\", \"newPassword\": \"Yeni123!\"}";
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+    private final UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(EMAIL, null);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuthController(userService, jwtUtil))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    // ❌ BCrypt havuzu doluyken şifre değiştirme 429 ve Retry-After ile reddedilir
+    @Test
+    void changePassword_WhenHashingPoolIsBusy_ShouldReturnTooManyRequests() throws Exception {
+        doThrow(new PasswordHashingBusyException("Sunucu şu anda yoğun."))
+                .when(userService).changePassword(EMAIL, "Eski123!", "Yeni123!");
+
+        mockMvc.perform(post("/api/v1/auth/change-password")
+                        .principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    // ❌ Mevcut şifre hatalıysa 400 döner
+    @Test
+    void changePassword_WhenCurrentPasswordIsWrong_ShouldReturnBadRequest() throws Exception {
+        doThrow(new RuntimeException("Mevcut şifreniz hatalı!"))
+                .when(userService).changePassword(EMAIL, "Eski123!", "Yeni123!");
+
+        mockMvc.perform(post("/api/v1/auth/change-password")
+                        .principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(status().isBadRequest());
+    }
+}
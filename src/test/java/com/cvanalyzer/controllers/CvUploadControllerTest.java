@@ -0,0 +1,130 @@
+package com.cvanalyzer.controllers;
+
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.services.CvUploadService;
+import com.cvanalyzer.services.UserLookupService;
+import com.cvanalyzer.storage.CvBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CvUploadControllerTest {
+
+    private static final String EMAIL = "ik@firma.com";
+    private static final String HASH = "ab".repeat(32);
+    private static final String CONTENT = "0123456789abcdef";
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Mock
+    private CvUploadService cvUploadService;
+
+    @Mock
+    private CvBlobStore cvBlobStore;
+
+    @TempDir
+    Path dir;
+
+    private MockMvc mockMvc;
+    private final UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(EMAIL, null);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new CvUploadController(userLookupService, cvUploadService, cvBlobStore)).build();
+
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setId(7L);
+        cvUpload.setFileName("Özgeçmiş.pdf");
+        cvUpload.setFileType("application/pdf");
+        cvUpload.setContentHash(HASH);
+        when(cvUploadService.getOwnedCv(7L, EMAIL)).thenReturn(cvUpload);
+        lenient().when(cvBlobStore.presignedDownloadUrl(any())).thenReturn(Optional.empty());
+        lenient().when(cvBlobStore.localPath(any()))
+                .thenReturn(Optional.of(Files.writeString(dir.resolve(HASH), CONTENT, StandardCharsets.UTF_8)));
+    }
+
+    // ✅ Tam indirme: güçlü ETag, değişmez önbellek ve dosya adı
+    @Test
+    void downloadCv_ShouldSendValidatorsAndFileName() throws Exception {
+        mockMvc.perform(get("/api/cv/7").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, allOf(containsString("max-age=31536000"), containsString("private"), containsString("immutable"))))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("filename*=UTF-8''%C3%96zge%C3%A7mi%C5%9F.pdf")))
+                .andExpect(content().string(CONTENT));
+    }
+
+    // ✅ ETag eşleşirse dosyaya dokunulmadan 304
+    @Test
+    void downloadCv_WhenIfNoneMatchMatches_ShouldReturn304WithoutReading() throws Exception {
+        mockMvc.perform(get("/api/cv/7").principal(auth).header(HttpHeaders.IF_NONE_MATCH, "W/\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(cvBlobStore);
+    }
+
+    // ✅ Range isteği yalnızca istenen baytları döner
+    @Test
+    void downloadCv_WhenRangeRequested_ShouldReturnPartialContent() throws Exception {
+        mockMvc.perform(get("/api/cv/7").principal(auth).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-15/16"))
+                .andExpect(content().string("abcdef"));
+    }
+
+    // ✅ Tomcat sendfile destekliyorsa gövde yazılmaz, dosya aralığı container'a devredilir
+    @Test
+    void downloadCv_WhenSendfileSupported_ShouldDelegateRangeToContainer() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/cv/7").principal(auth)
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE)
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/16"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().string(""))
+                .andReturn();
+
+        assertEquals(2L, result.getRequest().getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, result.getRequest().getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    // ✅ Presigned URL varsa istemci depoya yönlendirilir
+    @Test
+    void downloadCv_WhenPresignedUrlAvailable_ShouldRedirect() throws Exception {
+        when(cvBlobStore.presignedDownloadUrl(any()))
+                .thenReturn(Optional.of(URI.create("http://localhost:9000/cv-uploads/ab/ab/" + HASH + "?X-Amz-Signature=x")));
+
+        mockMvc.perform(get("/api/cv/7").principal(auth))
+                .andExpect(status().isFound())
+                .andExpect(header().string(HttpHeaders.LOCATION, startsWith("http://localhost:9000/cv-uploads/")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+}
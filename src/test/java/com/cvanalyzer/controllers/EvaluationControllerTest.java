@@ -0,0 +1,81 @@
+package com.cvanalyzer.controllers;
+
+import com.cvanalyzer.config.FirstRequestsLatencyFilter;
+import com.cvanalyzer.config.SecurityConfig;
+import com.cvanalyzer.dtos.AnalysisStreamEvent;
+import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.security.VerifiedToken;
+import com.cvanalyzer.services.AnalysisJobService;
+import com.cvanalyzer.services.EvaluationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Streaming analiz uç noktası, gerçek güvenlik zinciriyle: yanıt ASYNC dispatch'te tamamlanırken de kimlik
+ * doğrulanmış kalmalı.
+ */
+@WebMvcTest(controllers = EvaluationController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = FirstRequestsLatencyFilter.class))
+@Import(SecurityConfig.class)
+class EvaluationControllerTest {
+
+    private static final String EMAIL = "ik@firma.com";
+    private static final String TOKEN = "gecerli-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private EvaluationService evaluationService;
+
+    @MockBean
+    private AnalysisJobService analysisJobService;
+
+    // ✅ Akış tamamlandığında ASYNC dispatch de token ile doğrulanır ve olaylar yazılır
+    @Test
+    void streamAnalysis_WhenStreamCompletes_ShouldStayAuthenticatedOnAsyncDispatch() throws Exception {
+        when(jwtUtil.verify(TOKEN)).thenReturn(Optional.of(new VerifiedToken(EMAIL, "USER", Instant.now().plusSeconds(3600))));
+        when(evaluationService.streamAnalysis(any(), any(), any()))
+                .thenReturn(Flux.just(AnalysisStreamEvent.token("Java deneyimi")));
+
+        MvcResult started = mockMvc.perform(get("/api/v1/evaluations/analyze/7/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5_000);
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:token")))
+                .andExpect(content().string(containsString("Java deneyimi")));
+    }
+
+    // ❌ Token olmadan akış başlatılamaz
+    @Test
+    void streamAnalysis_WhenTokenMissing_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/evaluations/analyze/7/stream"))
+                .andExpect(status().isForbidden());
+    }
+}
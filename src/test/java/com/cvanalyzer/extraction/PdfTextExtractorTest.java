@@ -0,0 +1,97 @@
+package com.cvanalyzer.extraction;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfTextExtractorTest {
+
+    private static final int PAGES = 16;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // ✅ Paralel çıkarma sayfa sırasını korur ve seri çıkarmayla aynı metni üretir
+    @Test
+    void extract_WhenDocumentIsLong_ShouldMatchSerialText() throws IOException {
+        byte[] pdf = pdf(PAGES);
+
+        ExtractionResult serial = new PdfTextExtractor(pool, Integer.MAX_VALUE).extract(pdf, 1_000_000, deadline());
+        ExtractionResult parallel = new PdfTextExtractor(pool, 8).extract(pdf, 1_000_000, deadline());
+
+        assertEquals(serial.text(), parallel.text());
+        assertFalse(parallel.truncated());
+        assertTrue(parallel.text().indexOf("Page 01") < parallel.text().indexOf("Page 16"));
+    }
+
+    // ✅ Bütçe ilk aralıkta dolarsa sonuç seri çıkarmanın ilk maxChars karakteridir
+    @Test
+    void extract_WhenBudgetReachedInFirstRange_ShouldReturnSerialPrefix() throws IOException {
+        byte[] pdf = pdf(PAGES);
+        String full = new PdfTextExtractor(pool, Integer.MAX_VALUE).extract(pdf, 1_000_000, deadline()).text();
+
+        ExtractionResult result = new PdfTextExtractor(pool, 8).extract(pdf, 300, deadline());
+
+        assertEquals(full.substring(0, 300), result.text());
+        assertTrue(result.truncated());
+    }
+
+    // ✅ Önceki aralık bütçeyi doldurduysa sonraki aralık ilk yazmada durur
+    @Test
+    void boundedWriter_WhenEarlierRangeFilledBudget_ShouldStopLaterRange() {
+        AtomicIntegerArray rangeChars = new AtomicIntegerArray(2);
+        PdfTextExtractor.BoundedWriter first = new PdfTextExtractor.BoundedWriter(10, rangeChars, 0);
+        PdfTextExtractor.BoundedWriter second = new PdfTextExtractor.BoundedWriter(10, rangeChars, 1);
+
+        assertThrows(PdfTextExtractor.BoundedWriter.BudgetReachedException.class,
+                () -> first.write("0123456789abc"));
+        assertThrows(PdfTextExtractor.BoundedWriter.BudgetReachedException.class,
+                () -> second.write("x"));
+
+        assertEquals("0123456789", first.toString());
+        assertEquals("", second.toString());
+        assertTrue(second.isFull());
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    }
+
+    // Yazı tipi WinAnsi kodlamalı olduğundan metin ASCII tutulur
+    private static byte[] pdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int p = 1; p <= pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(12);
+                    content.newLineAtOffset(50, 750);
+                    for (int line = 0; line < 20; line++) {
+                        content.showText(String.format("Page %02d line %02d: Java, Spring Boot, MySQL", p, line));
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
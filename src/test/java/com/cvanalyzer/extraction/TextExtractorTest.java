@@ -0,0 +1,106 @@
+package com.cvanalyzer.extraction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.tika.parser.AutoDetectParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextExtractorTest {
+
+    private static final String DOCX_TYPE = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // ✅ Bütçe içindeki metin eksiksiz döner
+    @Test
+    void extract_WhenTextFitsBudget_ShouldReturnWholeText() throws IOException {
+        TextExtractor extractor = new TextExtractor(new AutoDetectParser(), 1000, Duration.ofSeconds(5), meterRegistry);
+
+        ExtractionResult result = extractor.extract(stream("Java geliştirici, 5 yıl deneyim."), "text/plain");
+
+        assertFalse(result.truncated());
+        assertTrue(result.text().contains("Java geliştirici, 5 yıl deneyim."));
+        assertEquals("other", result.format());
+    }
+
+    // ✅ Bütçe aşılınca ayrıştırma durur ve metin kesilir
+    @Test
+    void extract_WhenTextExceedsBudget_ShouldTruncateAtMaxChars() throws IOException {
+        TextExtractor extractor = new TextExtractor(new AutoDetectParser(), 100, Duration.ofSeconds(5), meterRegistry);
+
+        ExtractionResult result = extractor.extract(stream("deneyim ".repeat(10_000)), "text/plain");
+
+        assertTrue(result.truncated());
+        assertEquals(100, result.text().length());
+        assertEquals(1, meterRegistry.get("cv.extraction.latency").tag("outcome", "truncated").timer().count());
+    }
+
+    // ❌ Süre aşılınca hata fırlatılır
+    @Test
+    void extract_WhenDeadlinePassed_ShouldThrowException() {
+        TextExtractor extractor = new TextExtractor(new AutoDetectParser(), 1000, Duration.ofNanos(-1), meterRegistry);
+
+        assertThrows(IOException.class,
+                () -> extractor.extract(stream("Java geliştirici"), "text/plain"));
+    }
+
+    // ✅ Büyük DOCX'te metin bütçede kesilir; belge metni bütünüyle oluşturulmaz
+    @Test
+    void extract_WhenDocxExceedsBudget_ShouldTruncateAtMaxChars() throws IOException {
+        TextExtractor extractor = new TextExtractor(ExtractionMode.RESTRICTED, 500, Duration.ofSeconds(5), 12, meterRegistry);
+        try {
+            ExtractionResult result = extractor.extract(new ByteArrayInputStream(largeDocx()), DOCX_TYPE);
+
+            assertTrue(result.truncated());
+            assertEquals(500, result.text().length());
+            assertTrue(result.text().startsWith("Paragraf 0 "));
+            assertTrue(result.text().contains("hücre-0-1"));
+            assertEquals("docx", result.format());
+        } finally {
+            extractor.shutdown();
+        }
+    }
+
+    // ❌ DOCX hızlı yolunda da süre sınırı uygulanır
+    @Test
+    void extract_WhenDocxDeadlinePassed_ShouldThrowException() throws IOException {
+        TextExtractor extractor = new TextExtractor(ExtractionMode.RESTRICTED, 1_000_000, Duration.ofNanos(-1), 12, meterRegistry);
+        byte[] docx = largeDocx();
+        try {
+            assertThrows(InterruptedIOException.class,
+                    () -> extractor.extract(new ByteArrayInputStream(docx), DOCX_TYPE));
+            assertEquals(1, meterRegistry.get("cv.extraction.latency").tag("outcome", "failed").timer().count());
+        } finally {
+            extractor.shutdown();
+        }
+    }
+
+    // Tablo önde, ardından bütçeyi defalarca aşan paragraflar
+    private static byte[] largeDocx() throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            document.createParagraph().createRun().setText("Paragraf 0 ");
+            XWPFTable table = document.createTable(1, 2);
+            table.getRow(0).getCell(0).setText("hücre-0-0");
+            table.getRow(0).getCell(1).setText("hücre-0-1");
+            for (int i = 1; i < 5_000; i++) {
+                document.createParagraph().createRun().setText("Paragraf " + i + " deneyim ".repeat(10));
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package com.cvanalyzer.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = Duration.ofSeconds(1).toNanos();
+
+    // ❌ Sınır dolu → yeni çağrı reddedilir
+    @Test
+    void tryAcquire_WhenLimitReached_ShouldReject() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    // ✅ Hızlı ve dolu kullanımda limit artar, yavaş yanıt veya hata ile azalır
+    @Test
+    void limit_ShouldGrowOnFastCallsAndShrinkOnSlowOrDroppedCalls() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, THRESHOLD, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        limiter.onSuccess(THRESHOLD / 10);
+        assertEquals(5, limiter.getLimit());
+
+        limiter.onSuccess(THRESHOLD * 2);
+        assertEquals(2, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertEquals(1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,47 @@
+package com.cvanalyzer.llm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    // ❌ Hata oranı eşiği aştı → devre açılır, çağrılar reddedilir
+    @Test
+    void onFailure_WhenFailureRateExceedsThreshold_ShouldOpenAndReject() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertTrue(breaker.retryAfter().toSeconds() > 0);
+    }
+
+    // ✅ Bekleme süresi doldu → tek deneme çağrısı, başarılıysa devre kapanır
+    @Test
+    void tryAcquire_WhenOpenDurationElapsed_ShouldAllowSingleTrial() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 0.5, Duration.ZERO);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cvanalyzer.llm;
+
+import com.cvanalyzer.entities.Evaluation;
+import com.cvanalyzer.exceptions.MalformedLlmResponseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationResponseParserTest {
+
+    private final EvaluationResponseParser parser = new EvaluationResponseParser(new ObjectMapper());
+
+    // ✅ Markdown kod bloğu ve sonrasındaki açıklama metni yok sayılır
+    @Test
+    void parse_WhenJsonIsFencedWithTrailingProse_ShouldReadAllFields() {
+        String response = """
+                ```json
+                {"score": 82.5, "summary": "- Güçlü Java deneyimi", "extra": {"a": [1, 2]}, "recommendations": "- Sonuçları sayısallaştırın"}
+                ```
+                Not: {bu} kısım JSON değildir.""";
+
+        LlmEvaluationResult result = parser.parse(response);
+
+        assertEquals(82.5, result.score());
+        assertEquals("- Güçlü Java deneyimi", result.summary());
+        assertEquals("- Sonuçları sayısallaştırın", result.recommendations());
+    }
+
+    // ✅ Öneriler dizi olarak geldiyse satırlara dönüştürülür, puan metin olarak gelebilir
+    @Test
+    void parse_WhenRecommendationsIsArray_ShouldJoinLines() {
+        LlmEvaluationResult result = parser.parse(
+                "{\"score\": \"70\", \"summary\": \"özet\", \"recommendations\": [\"- Bir\", \"- İki\"]}");
+
+        assertEquals(70, result.score());
+        assertEquals("- Bir\n- İki", result.recommendations());
+    }
+
+    // ❌ JSON yarıda kesilmiş
+    @Test
+    void parse_WhenJsonIsTruncated_ShouldThrowException() {
+        assertThrows(MalformedLlmResponseException.class,
+                () -> parser.parse("{\"score\": 70, \"summary\": \"- Güçlü Java"));
+    }
+
+    // ❌ JSON yok veya puan eksik
+    @Test
+    void parse_WhenScoreIsMissing_ShouldThrowException() {
+        assertThrows(MalformedLlmResponseException.class,
+                () -> parser.parse("Bu CV genel olarak başarılı."));
+        assertThrows(MalformedLlmResponseException.class,
+                () -> parser.parse("{\"summary\": \"özet\"}"));
+    }
+
+    // ✅ Uzun metin kesilir ve kesilen metin Evaluation sütunlarına sığar
+    @Test
+    void parse_WhenSummaryIsTooLong_ShouldTruncateWithinColumnLength() {
+        String longText = "a".repeat(10_000);
+
+        LlmEvaluationResult result = parser.parse("{\"score\": 70, \"summary\": \"" + longText + "\", \"recommendations\": \"" + longText + "\"}");
+
+        assertEquals(EvaluationResponseParser.MAX_TEXT_LENGTH, result.summary().length());
+        assertEquals(EvaluationResponseParser.MAX_TEXT_LENGTH, result.recommendations().length());
+        assertTrue(EvaluationResponseParser.MAX_TEXT_LENGTH <= Evaluation.TEXT_COLUMN_LENGTH);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cvanalyzer.llm;
+
+import com.cvanalyzer.exceptions.LlmUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmQuotaSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // ✅ Kota yeterli → beklemeden kabul, tahmini token şeride yazılır
+    @Test
+    void admit_WhenQuotaAvailable_ShouldConsumeEstimatedTokens() {
+        LlmQuotaScheduler scheduler = scheduler(10, Duration.ZERO);
+
+        scheduler.admit(LlmPriority.BACKGROUND, "a".repeat(400));
+
+        assertEquals(100 + 24, scheduler.estimateTokens("a".repeat(400)));
+        assertEquals(124, meterRegistry.get("llm.scheduler.tokens").tag("lane", "background").counter().count());
+    }
+
+    // ❌ RPM kotası doldu ve bekleme süresi yok → 503 ve Retry-After
+    @Test
+    void admit_WhenRequestQuotaExhausted_ShouldRejectAfterMaxWait() {
+        LlmQuotaScheduler scheduler = scheduler(1, Duration.ZERO);
+        scheduler.admit(LlmPriority.INTERACTIVE, "cv");
+
+        LlmUnavailableException ex = assertThrows(LlmUnavailableException.class,
+                () -> scheduler.admit(LlmPriority.INTERACTIVE, "cv"));
+
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1, meterRegistry.get("llm.scheduler.rejected").tag("lane", "interactive").counter().count());
+    }
+
+    private LlmQuotaScheduler scheduler(int requestsPerMinute, Duration maxWait) {
+        return new LlmQuotaScheduler(100_000, requestsPerMinute, 24,
+                Map.of(LlmPriority.INTERACTIVE, maxWait, LlmPriority.BACKGROUND, maxWait),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,136 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.entities.CvBlob;
+import com.cvanalyzer.storage.CvBlobStore;
+import com.cvanalyzer.storage.FilesystemCvStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * cv_blob referans sayacı gerçek SQL ile. {@link CvBlobRepository#acquire} MySQL'e özgü
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} kullandığı için H2 MySQL uyumluluk modunda çalışır. Eşzamanlı
+ * yüklemeler kendi transaction'larında, ayrı thread'lerde yapılır; bu yüzden test transaction'ı kapalıdır.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        // İkinci ekleme, ilk transaction'ın anahtar kilidini beklerken zaman aşımına düşmesin
+        "spring.datasource.url=jdbc:h2:mem:cv-blob;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CvBlobRepositoryTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Autowired
+    private CvBlobRepository cvBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path root;
+
+    @AfterEach
+    void tearDown() {
+        cvBlobRepository.deleteAll();
+    }
+
+    // ✅ İlk acquire satırı oluşturur, ikincisi referansı artırır; release'ler sayacı azaltıp satırı siler
+    @Test
+    void acquire_WhenCalledTwiceThenReleased_ShouldCountReferences() {
+        acquireInTransaction();
+        CvBlob first = cvBlobRepository.findById(HASH).orElseThrow();
+        assertEquals(1, first.getRefCount());
+        assertEquals(8, first.getSize());
+
+        acquireInTransaction();
+        assertEquals(2, refCount());
+
+        CvBlobStore store = new CvBlobStore(cvBlobRepository, new FilesystemCvStorage(root), transactionManager,
+                root.resolve("tmp").toString(), Duration.ofMinutes(5));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> store.release(HASH));
+        assertEquals(1, refCount());
+
+        transactionTemplate.executeWithoutResult(status -> store.release(HASH));
+        assertTrue(cvBlobRepository.findById(HASH).isEmpty());
+    }
+
+    // ✅ Aynı içeriğin eşzamanlı ilk iki yüklemesi: ikinci ekleme ilkinin commit'ini bekler ve referansı artırır
+    @Test
+    void acquire_WhenFirstUploadsRunConcurrently_ShouldEndWithTwoReferences() throws Exception {
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        AtomicReference<Thread> secondThread = new AtomicReference<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = pool.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                cvBlobRepository.acquire(HASH, 8, LocalDateTime.now());
+                firstInserted.countDown();
+                try {
+                    commitFirst.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(firstInserted.await(5, TimeUnit.SECONDS));
+
+            Future<?> second = pool.submit(() -> {
+                secondThread.set(Thread.currentThread());
+                acquireInTransaction();
+            });
+            // İkinci ekleme satır kilidinde beklemeye başlayana kadar ilk transaction açık tutulur
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (System.nanoTime() < deadline
+                    && (secondThread.get() == null || secondThread.get().getState() == Thread.State.RUNNABLE)) {
+                Thread.onSpinWait();
+            }
+            commitFirst.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(2, refCount());
+    }
+
+    private void acquireInTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> cvBlobRepository.acquire(HASH, 8, LocalDateTime.now()));
+    }
+
+    private int refCount() {
+        return cvBlobRepository.findById(HASH).map(CvBlob::getRefCount).orElse(0);
+    }
+}
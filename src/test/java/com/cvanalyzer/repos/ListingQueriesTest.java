@@ -0,0 +1,178 @@
+package com.cvanalyzer.repos;
+
+import com.cvanalyzer.dtos.AdminEvaluationSummary;
+import com.cvanalyzer.dtos.CvUploadSummary;
+import com.cvanalyzer.dtos.EvaluationSummary;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.Evaluation;
+import com.cvanalyzer.entities.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Liste uç noktalarının sorguları: her sayfa tek SQL ifadesiyle yüklenmeli ve keyset imleci satır atlamadan
+ * ya da tekrarlamadan ilerlemeli.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ListingQueriesTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final PageRequest PAGE = PageRequest.ofSize(20);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EvaluationRepository evaluationRepository;
+
+    @Autowired
+    private CvUploadRepository cvUploadRepository;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Elif");
+        user.setSurname("Şahin");
+        user.setEmail("elif@ornek.com");
+        user.setPassword("$2a$10$hash");
+        entityManager.persist(user);
+
+        User other = new User();
+        other.setEmail("baska@ornek.com");
+        other.setPassword("$2a$10$hash");
+        entityManager.persist(other);
+
+        for (int i = 1; i <= 3; i++) {
+            CvUpload cv = entityManager.persist(CvUpload.builder()
+                    .fileName("cv-" + i + ".pdf")
+                    .fileType("application/pdf")
+                    .fileSize(1000L * i)
+                    .uploadDate(LocalDateTime.now().minusDays(i))
+                    .user(user)
+                    .build());
+            entityManager.persist(Evaluation.builder()
+                    .score(60 + i)
+                    .analysisSummary("Özet " + i)
+                    .recommendations("Öneri " + i)
+                    .evaluationType("GENERAL")
+                    .user(user)
+                    .cvUpload(cv)
+                    .build());
+        }
+        entityManager.persist(CvUpload.builder().fileName("baska.pdf").fileType("application/pdf").user(other).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // ✅ Değerlendirme listesi CV bilgisiyle birlikte tek sorguda gelir
+    @Test
+    void findSummariesByUserId_ShouldLoadEvaluationsInOneStatement() {
+        List<EvaluationSummary> summaries = evaluationRepository.findSummariesByUserId(user.getId(), END, Long.MAX_VALUE, PAGE);
+
+        assertEquals(3, summaries.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(summaries.stream().allMatch(s -> s.cvFileName().startsWith("cv-")));
+    }
+
+    // ✅ CV listesi tek sorguda, yalnızca kullanıcının kayıtlarıyla gelir
+    @Test
+    void findSummariesByUserId_ShouldLoadCvsInOneStatement() {
+        List<CvUploadSummary> summaries = cvUploadRepository.findSummariesByUserId(user.getId(), END, Long.MAX_VALUE, PAGE);
+
+        assertEquals(List.of("cv-1.pdf", "cv-2.pdf", "cv-3.pdf"), summaries.stream().map(CvUploadSummary::fileName).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // ✅ Sahiplik kontrolü için CV kullanıcısıyla birlikte tek sorguda yüklenir
+    @Test
+    void findById_ShouldFetchOwnerInSameStatement() {
+        Long cvId = cvUploadRepository.findSummariesByUserId(user.getId(), END, Long.MAX_VALUE, PAGE).get(0).id();
+        statistics.clear();
+
+        CvUpload cv = cvUploadRepository.findById(cvId).orElseThrow();
+
+        assertEquals("elif@ornek.com", cv.getUser().getEmail());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // ✅ Aynı tarihli satırlar id ile ayrılır; sayfalar arasında satır atlanmaz ya da tekrarlanmaz
+    @Test
+    void findSummariesByUserId_ShouldPageThroughEqualTimestampsWithoutGapsOrDuplicates() {
+        LocalDateTime sameDate = LocalDateTime.of(2024, 5, 1, 10, 0);
+        entityManager.getEntityManager()
+                .createQuery("update CvUpload c set c.uploadDate = :date")
+                .setParameter("date", sameDate)
+                .executeUpdate();
+
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime afterDate = END;
+        long afterId = Long.MAX_VALUE;
+        List<CvUploadSummary> page;
+        do {
+            page = cvUploadRepository.findSummariesByUserId(user.getId(), afterDate, afterId, PageRequest.ofSize(2));
+            page.forEach(cv -> seen.add(cv.id()));
+            if (!page.isEmpty()) {
+                afterDate = page.get(page.size() - 1).uploadDate();
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == 2);
+
+        assertEquals(3, seen.size());
+        assertEquals(seen.stream().sorted((a, b) -> Long.compare(b, a)).toList(), seen);
+    }
+
+    // ✅ Yönetici listesi puana göre azalan sırada, puan bandı ve imleçle filtrelenir
+    @Test
+    void findAllByScore_ShouldFilterByBandAndContinueAfterCursor() {
+        List<AdminEvaluationSummary> first = evaluationRepository.findAllByScore(START, END, 62, 100,
+                Double.MAX_VALUE, Long.MAX_VALUE, PageRequest.ofSize(1));
+
+        assertEquals(1, first.size());
+        assertEquals(63, first.get(0).score());
+        assertEquals("elif@ornek.com", first.get(0).userEmail());
+
+        AdminEvaluationSummary last = first.get(0);
+        List<AdminEvaluationSummary> rest = evaluationRepository.findAllByScore(START, END, 62, 100,
+                last.score(), last.id(), PAGE);
+
+        assertEquals(List.of(62.0), rest.stream().map(AdminEvaluationSummary::score).toList());
+    }
+
+    // ✅ Tarih aralığı dışındaki değerlendirmeler yönetici listesine girmez
+    @Test
+    void findAllByCreatedAt_ShouldApplyDateRange() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(3, evaluationRepository.findAllByCreatedAt(now.minusHours(1), END, 0, 100,
+                END, Long.MAX_VALUE, PAGE).size());
+        assertTrue(evaluationRepository.findAllByCreatedAt(START, now.minusHours(1), 0, 100,
+                END, Long.MAX_VALUE, PAGE).isEmpty());
+    }
+}
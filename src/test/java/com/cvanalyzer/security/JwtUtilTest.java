@@ -0,0 +1,44 @@
+package com.cvanalyzer.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", "test-secret-key-that-is-at-least-256-bits-long!!");
+        jwtUtil.init();
+    }
+
+    // ✅ Geçerli token → kimlik ve rol claim'den okunur, tekrar doğrulama önbellekten gelir
+    @Test
+    void verify_WhenTokenIsValid_ShouldReturnSubjectAndRole() {
+        String token = jwtUtil.generateToken("test@test.com", "ADMIN");
+
+        Optional<VerifiedToken> verified = jwtUtil.verify(token);
+
+        assertTrue(verified.isPresent());
+        assertEquals("test@test.com", verified.get().subject());
+        assertEquals("ADMIN", verified.get().role());
+        assertSame(verified.get(), jwtUtil.verify(token).orElseThrow());
+    }
+
+    // ❌ İmzası bozulmuş token → doğrulanmaz
+    @Test
+    void verify_WhenSignatureIsTampered_ShouldReturnEmpty() {
+        String token = jwtUtil.generateToken("test@test.com", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertTrue(jwtUtil.verify("bozuk.token").isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package com.cvanalyzer.security;
+
+import com.cvanalyzer.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ✅ Hash havuzda üretilir ve doğrulanır, süre metriği kaydedilir
+    @Test
+    void matches_WhenPasswordIsCorrect_ShouldReturnTrueAndRecordLatency() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), executor, meterRegistry);
+
+        String hash = hasher.encode("Parola123!");
+
+        assertTrue(hasher.matches("Parola123!", hash));
+        assertFalse(hasher.matches("yanlis", hash));
+        assertEquals(2, meterRegistry.get("password.hash.latency").tag("operation", "matches").timer().count());
+    }
+
+    // ✅ Yapılandırılan cost'tan düşük hash yeniden hash'lenmeli
+    @Test
+    void needsRehash_WhenHashUsesLowerCost_ShouldReturnTrue() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("Parola123!");
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), executor, meterRegistry);
+
+        assertTrue(hasher.needsRehash(oldHash));
+        assertFalse(hasher.needsRehash(hasher.encode("Parola123!")));
+    }
+
+    // ❌ Worker meşgul ve kuyruk doluyken → beklemeden 429
+    @Test
+    void encode_WhenQueueIsFull_ShouldRejectImmediately() throws Exception {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), executor, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+
+        try {
+            assertThrows(PasswordHashingBusyException.class, () -> hasher.encode("Parola123!"));
+            assertEquals(1, meterRegistry.get("password.hash.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+}
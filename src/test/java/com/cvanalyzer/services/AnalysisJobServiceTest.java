@@ -0,0 +1,109 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.AnalysisJob;
+import com.cvanalyzer.entities.Evaluation;
+import com.cvanalyzer.entities.JobStatus;
+import com.cvanalyzer.exceptions.AnalysisQueueFullException;
+import com.cvanalyzer.exceptions.UnauthorizedAccessException;
+import com.cvanalyzer.llm.LlmPriority;
+import com.cvanalyzer.repos.AnalysisJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalysisJobServiceTest {
+
+    @Mock
+    private AnalysisJobRepository jobRepository;
+
+    @Mock
+    private EvaluationService evaluationService;
+
+    private final Map<String, AnalysisJob> store = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    private AnalysisJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        jobService = new AnalysisJobService(jobRepository, evaluationService, executor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ✅ Analiz başarılı → iş DONE
+    @Test
+    void submit_WhenAnalysisSucceeds_ShouldMarkJobDone() throws Exception {
+        when(jobRepository.save(any(AnalysisJob.class))).thenAnswer(invocation -> {
+            AnalysisJob job = invocation.getArgument(0);
+            store.put(job.getId(), job);
+            return job;
+        });
+        when(jobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(store.get(invocation.<String>getArgument(0))));
+
+        Evaluation evaluation = new Evaluation();
+        evaluation.setId(7L);
+        when(evaluationService.analyzeCvAndVerifyUser(1L, "test@test.com", "key-1", LlmPriority.BACKGROUND)).thenReturn(evaluation);
+
+        AnalysisJob job = jobService.submit(1L, "test@test.com", "key-1");
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(JobStatus.DONE, job.getStatus());
+        assertEquals(7L, job.getEvaluationId());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    // ❌ Kuyruk dolu → 503 ve iş FAILED
+    @Test
+    void submit_WhenQueueIsFull_ShouldRejectAndMarkFailed() {
+        executor.shutdown();
+        when(jobRepository.save(any(AnalysisJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(AnalysisQueueFullException.class,
+                () -> jobService.submit(1L, "test@test.com", null));
+
+        ArgumentCaptor<AnalysisJob> captor = ArgumentCaptor.forClass(AnalysisJob.class);
+        verify(jobRepository, times(2)).save(captor.capture());
+        assertEquals(JobStatus.FAILED, captor.getValue().getStatus());
+    }
+
+    // ❌ Başka kullanıcının işi sorgulanamaz
+    @Test
+    void getJob_WhenJobBelongsToAnotherUser_ShouldThrowException() {
+        AnalysisJob job = AnalysisJob.builder()
+                .id("job-1")
+                .userEmail("owner@test.com")
+                .status(JobStatus.QUEUED)
+                .build();
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job));
+
+        assertThrows(UnauthorizedAccessException.class,
+                () -> jobService.getJob("job-1", "requester@test.com"));
+    }
+}
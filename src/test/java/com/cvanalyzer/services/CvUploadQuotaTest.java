@@ -0,0 +1,198 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.FileValidationException;
+import com.cvanalyzer.repos.CvUploadRepository;
+import com.cvanalyzer.repos.EvaluationRepository;
+import com.cvanalyzer.repos.UserRepository;
+import com.cvanalyzer.storage.CvBlobStore;
+import com.cvanalyzer.storage.StoredBlob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * CV sınırı ve aynı isim kontrolü gerçek SQL ile: koşullu sayaç güncellemesi, tekil indeks ihlalinde geri alma ve
+ * eski kullanıcılar için sayaç hesaplama. Yüklemeler kendi transaction'larında, paralel thread'lerde çalışır; bu
+ * yüzden test transaction'ı kapalıdır ve veriler her testten sonra silinir.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        // Eşzamanlı güncellemeler satır kilidini beklerken zaman aşımına düşmesin
+        "spring.datasource.url=jdbc:h2:mem:cv-quota;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CvUploadQuotaTest {
+
+    private static final String HASH = "ef".repeat(32);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CvUploadRepository cvUploadRepository;
+
+    @Autowired
+    private EvaluationRepository evaluationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CvBlobStore cvBlobStore = mock(CvBlobStore.class);
+    private CvUploadService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(cvBlobStore.store(any(InputStream.class))).thenReturn(new StoredBlob(HASH, 8, "ef/ef/" + HASH));
+        service = new CvUploadService(cvUploadRepository, userRepository, evaluationRepository, cvBlobStore,
+                mock(CvTextService.class), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cvUploadRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // ✅ Aynı anda gelen yüklemelerden yalnızca 3'ü kaydedilir
+    @Test
+    void upload_WhenUploadsRunInParallel_ShouldNeverExceedLimit() throws Exception {
+        User user = saveUser("paralel@ornek.com", 0);
+        int attempts = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                MockMultipartFile file = pdf("cv-" + i + ".pdf");
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return service.upload(user, file);
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(FileValidationException.class, e.getCause());
+                }
+            }
+
+            assertEquals(3, succeeded);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(3, cvUploadRepository.countByUser(user));
+        assertEquals(3, cvCountOf(user));
+        verify(cvBlobStore, times(attempts - 3)).release(HASH);
+    }
+
+    // ❌ Aynı isimli ikinci yükleme reddedilir ve sayaç artışı geri alınır
+    @Test
+    void upload_WhenFileNameIsDuplicate_ShouldRollBackCounter() {
+        User user = saveUser("ayni@ornek.com", 0);
+        service.upload(user, pdf("cv.pdf"));
+
+        FileValidationException ex = assertThrows(FileValidationException.class,
+                () -> service.upload(user, pdf("cv.pdf")));
+
+        assertTrue(ex.getMessage().contains("Aynı isimde"));
+        assertEquals(1, cvUploadRepository.countByUser(user));
+        assertEquals(1, cvCountOf(user));
+        verify(cvBlobStore).release(HASH);
+    }
+
+    // ✅ Sayacı NULL olan eski kullanıcıda sayaç mevcut kayıtlardan bir kez hesaplanır
+    @Test
+    void backfillCvCount_WhenCounterIsNull_ShouldCountExistingCvsOnce() {
+        User user = saveUser("eski@ornek.com", null);
+        saveCv(user, "eski-1.pdf");
+        saveCv(user, "eski-2.pdf");
+
+        assertEquals(1, inTransaction(() -> userRepository.backfillCvCount(user.getId())));
+        assertEquals(2, cvCountOf(user));
+        // Sayaç artık dolu: ikinci çağrı hiçbir şeyi değiştirmez
+        assertEquals(0, inTransaction(() -> userRepository.backfillCvCount(user.getId())));
+        assertEquals(2, cvCountOf(user));
+    }
+
+    // ✅ Eski kullanıcı yükleme yaptığında sayaç hesaplanır ve sınır mevcut kayıtlarla birlikte uygulanır
+    @Test
+    void upload_WhenLegacyUserHasNullCounter_ShouldBackfillAndEnforceLimit() {
+        User user = saveUser("eski-yukleme@ornek.com", null);
+        saveCv(user, "eski-1.pdf");
+        saveCv(user, "eski-2.pdf");
+
+        service.upload(user, pdf("yeni-1.pdf"));
+
+        assertEquals(3, cvCountOf(user));
+        assertThrows(FileValidationException.class, () -> service.upload(user, pdf("yeni-2.pdf")));
+        assertEquals(3, cvUploadRepository.countByUser(user));
+    }
+
+    private User saveUser(String email, Integer cvCount) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("$2a$10$hash");
+        user.setCvCount(cvCount);
+        return userRepository.save(user);
+    }
+
+    private void saveCv(User user, String fileName) {
+        cvUploadRepository.save(CvUpload.builder()
+                .fileName(fileName)
+                .fileType("application/pdf")
+                .uploadDate(LocalDateTime.now())
+                .user(user)
+                .build());
+    }
+
+    private Integer cvCountOf(User user) {
+        return userRepository.findById(user.getId()).orElseThrow().getCvCount();
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = new TransactionTemplate(transactionManager).execute(status -> work.getAsInt());
+        return result != null ? result : 0;
+    }
+
+    private static MockMultipartFile pdf(String name) {
+        return new MockMultipartFile("file", name, "application/pdf", "%PDF-1.7".getBytes());
+    }
+}
@@ -0,0 +1,117 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.FileValidationException;
+import com.cvanalyzer.repos.CvUploadRepository;
+import com.cvanalyzer.repos.EvaluationRepository;
+import com.cvanalyzer.repos.UserRepository;
+import com.cvanalyzer.storage.CvBlobStore;
+import com.cvanalyzer.storage.StoredBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.InputStream;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CvUploadServiceTest {
+
+    private static final String HASH = "cd".repeat(32);
+
+    @Mock
+    private CvUploadRepository cvUploadRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EvaluationRepository evaluationRepository;
+
+    @Mock
+    private CvBlobStore cvBlobStore;
+
+    @Mock
+    private CvTextService cvTextService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CvUploadService service;
+    private User user;
+    private final MockMultipartFile file = new MockMultipartFile("file", "cv.pdf", "application/pdf", "%PDF-1.7".getBytes());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new CvUploadService(cvUploadRepository, userRepository, evaluationRepository, cvBlobStore,
+                cvTextService, transactionManager);
+        user = new User();
+        user.setId(42L);
+        user.setEmail("aday@ornek.com");
+        when(cvBlobStore.store(any(InputStream.class))).thenReturn(new StoredBlob(HASH, 8, "cd/cd/" + HASH));
+    }
+
+    // ✅ Sayaç tek koşullu güncellemeyle artar; sayım ve isim sorgusu çalışmaz
+    @Test
+    void upload_WhenSlotAvailable_ShouldReserveAndInsertWithoutCountQueries() {
+        when(userRepository.reserveCvSlot(42L, 3)).thenReturn(1);
+
+        CvUpload cvUpload = service.upload(user, file);
+
+        assertEquals(HASH, cvUpload.getContentHash());
+        verify(cvUploadRepository).save(cvUpload);
+        verify(cvUploadRepository, never()).countByUser(any());
+        verify(cvUploadRepository, never()).existsByUserAndFileName(any(), any());
+        verify(cvTextService).extractAsync(cvUpload);
+    }
+
+    // ❌ Sınır doluysa kayıt yapılmaz ve blob referansı bırakılır
+    @Test
+    void upload_WhenQuotaFull_ShouldRejectAndReleaseBlob() {
+        when(userRepository.reserveCvSlot(42L, 3)).thenReturn(0);
+        when(userRepository.backfillCvCount(42L)).thenReturn(0);
+
+        FileValidationException ex = assertThrows(FileValidationException.class, () -> service.upload(user, file));
+
+        assertEquals("Bir kullanıcı en fazla 3 CV yükleyebilir.", ex.getMessage());
+        verify(cvUploadRepository, never()).save(any());
+        verify(cvBlobStore).release(HASH);
+    }
+
+    // ✅ Sayacı henüz hesaplanmamış eski kullanıcı için sayaç bir kez hesaplanıp yeniden denenir
+    @Test
+    void upload_WhenCounterNotBackfilled_ShouldBackfillAndRetry() {
+        when(userRepository.reserveCvSlot(42L, 3)).thenReturn(0, 1);
+        when(userRepository.backfillCvCount(42L)).thenReturn(1);
+
+        service.upload(user, file);
+
+        verify(userRepository, times(2)).reserveCvSlot(42L, 3);
+        verify(cvUploadRepository).save(any());
+    }
+
+    // ❌ Tekil indeks ihlali aynı isim hatasına çevrilir
+    @Test
+    void upload_WhenFileNameAlreadyExists_ShouldRejectAndReleaseBlob() {
+        when(userRepository.reserveCvSlot(42L, 3)).thenReturn(1);
+        when(cvUploadRepository.save(any())).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry '42-cv.pdf' for key 'cv_upload.uk_cv_upload_user_file_name'")));
+
+        FileValidationException ex = assertThrows(FileValidationException.class, () -> service.upload(user, file));
+
+        assertTrue(ex.getMessage().startsWith("Aynı isimde bir dosya zaten yüklendi"));
+        verify(cvBlobStore).release(HASH);
+        verify(cvTextService, never()).extractAsync(any());
+    }
+}
@@ -0,0 +1,133 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.UploadSession;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.exceptions.FileValidationException;
+import com.cvanalyzer.exceptions.UploadOffsetMismatchException;
+import com.cvanalyzer.repos.UploadSessionRepository;
+import com.cvanalyzer.storage.CvBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResumableUploadServiceTest {
+
+    private static final String EMAIL = "aday@ornek.com";
+    private static final String PDF = "application/pdf";
+    private static final byte[] CONTENT = "%PDF-1.7 Zeynep Demir - Backend Gelistirici".getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private CvUploadService cvUploadService;
+
+    @Mock
+    private CvBlobStore cvBlobStore;
+
+    @TempDir
+    Path tmp;
+
+    private ResumableUploadService service;
+    private UploadSession session;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ResumableUploadService(uploadSessionRepository, cvUploadService, cvBlobStore, Duration.ofHours(24));
+        session = UploadSession.builder()
+                .id("s1")
+                .userEmail(EMAIL)
+                .fileName("cv.pdf")
+                .fileType(PDF)
+                .totalSize(CONTENT.length)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        user = new User();
+        user.setEmail(EMAIL);
+        lenient().when(uploadSessionRepository.findById("s1")).thenReturn(Optional.of(session));
+        lenient().when(cvBlobStore.tempPath(anyString())).thenAnswer(inv -> tmp.resolve(inv.<String>getArgument(0)));
+    }
+
+    // ✅ Parçalar sırası bozulmadan konumlarına yazılır ve alınan bayt ilerletilir
+    @Test
+    void writeChunk_ShouldWriteAtOffsetAndAdvance() throws Exception {
+        service.writeChunk("s1", EMAIL, 0, new ByteArrayInputStream(CONTENT, 0, 10));
+        verify(uploadSessionRepository).advance("s1", 0, 10);
+        session.setReceivedBytes(10);
+
+        service.writeChunk("s1", EMAIL, 10, new ByteArrayInputStream(CONTENT, 10, CONTENT.length - 10));
+        verify(uploadSessionRepository).advance("s1", 10, CONTENT.length);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(tmp.resolve("session-s1.part")));
+    }
+
+    // ❌ Alınan son bayttan sonra başlayan parça boşluk bırakacağı için reddedilir
+    @Test
+    void writeChunk_WhenOffsetBeyondReceived_ShouldThrowConflict() {
+        assertThrows(UploadOffsetMismatchException.class,
+                () -> service.writeChunk("s1", EMAIL, 5, new ByteArrayInputStream(CONTENT)));
+        verify(uploadSessionRepository, never()).advance(anyString(), anyLong(), anyLong());
+    }
+
+    // ❌ Bildirilen boyutu aşan parça kabul edilmez
+    @Test
+    void writeChunk_WhenChunkExceedsDeclaredSize_ShouldThrow() {
+        byte[] tooLarge = new byte[CONTENT.length + 1];
+
+        assertThrows(FileValidationException.class,
+                () -> service.writeChunk("s1", EMAIL, 0, new ByteArrayInputStream(tooLarge)));
+    }
+
+    // ✅ Tamamlanınca içerik doğrulanır, CV kaydı oluşturulur ve oturum silinir
+    @Test
+    void complete_WhenAllBytesReceived_ShouldRegisterCvAndDiscardSession() throws Exception {
+        Path part = tmp.resolve("session-s1.part");
+        Files.write(part, CONTENT);
+        session.setReceivedBytes(CONTENT.length);
+        CvUpload cvUpload = new CvUpload();
+        when(cvUploadService.upload(user, "cv.pdf", PDF, part)).thenReturn(cvUpload);
+
+        assertSame(cvUpload, service.complete("s1", user));
+        verify(uploadSessionRepository).delete(session);
+    }
+
+    // ❌ PDF olarak bildirilip başka içerik yüklenirse reddedilir
+    @Test
+    void complete_WhenContentDoesNotMatchDeclaredType_ShouldThrow() throws Exception {
+        Files.write(tmp.resolve("session-s1.part"), "PK\u0003\u0004word".getBytes(StandardCharsets.ISO_8859_1));
+        session.setTotalSize(8);
+        session.setReceivedBytes(8);
+
+        assertThrows(FileValidationException.class, () -> service.complete("s1", user));
+        verify(cvUploadService, never()).upload(any(), anyString(), anyString(), any(Path.class));
+    }
+
+    // ❌ Eksik yükleme tamamlanamaz
+    @Test
+    void complete_WhenBytesMissing_ShouldThrow() {
+        session.setReceivedBytes(3);
+
+        assertThrows(FileValidationException.class, () -> service.complete("s1", user));
+        verify(uploadSessionRepository, never()).delete(eq(session));
+    }
+}
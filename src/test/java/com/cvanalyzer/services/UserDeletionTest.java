@@ -0,0 +1,183 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.CvBlob;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.entities.Evaluation;
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.repos.CvBlobRepository;
+import com.cvanalyzer.repos.CvUploadRepository;
+import com.cvanalyzer.repos.EvaluationRepository;
+import com.cvanalyzer.repos.UserRepository;
+import com.cvanalyzer.security.JwtUtil;
+import com.cvanalyzer.security.PasswordHasher;
+import com.cvanalyzer.storage.CvBlobStore;
+import com.cvanalyzer.storage.FilesystemCvStorage;
+import com.cvanalyzer.storage.StoredBlob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Hesap silme gerçek SQL ve dosya sistemi deposuyla: kullanıcının CV'leri cascade'e bırakılmadan silinir, paylaşılan
+ * blob'un referansı azalır ve son referans gidince dosya da silinir. Servisler Spring proxy'si olmadan kurulduğu
+ * için {@code @Transactional} sınırları {@link TransactionTemplate} ile çizilir.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        // cv_blob referans artırma sorgusu MySQL'e özgü (ON DUPLICATE KEY UPDATE)
+        "spring.datasource.url=jdbc:h2:mem:user-delete;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserDeletionTest {
+
+    private static final byte[] CONTENT = "Ayşe Yılmaz - Yazılım Mühendisi".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CvUploadRepository cvUploadRepository;
+
+    @Autowired
+    private EvaluationRepository evaluationRepository;
+
+    @Autowired
+    private CvBlobRepository cvBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path root;
+
+    private CvBlobStore cvBlobStore;
+    private UserService userService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        cvBlobStore = new CvBlobStore(cvBlobRepository, new FilesystemCvStorage(root), transactionManager,
+                root.resolve("tmp").toString(), Duration.ofMinutes(5));
+        CvUploadService cvUploadService = new CvUploadService(cvUploadRepository, userRepository,
+                evaluationRepository, cvBlobStore, mock(CvTextService.class), transactionManager);
+        userService = new UserService(userRepository, mock(PasswordHasher.class), mock(JwtUtil.class),
+                new UserLookupService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)),
+                cvUploadService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluationRepository.deleteAll();
+        cvUploadRepository.deleteAll();
+        cvBlobRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // ✅ Aynı içeriği paylaşan iki hesaptan biri silinince blob'un referansı azalır, dosya yerinde kalır
+    @Test
+    void deleteUser_WhenBlobIsShared_ShouldDecrementRefCountAndKeepFile() {
+        User ayse = saveUser("ayse@ornek.com");
+        User mehmet = saveUser("mehmet@ornek.com");
+        StoredBlob blob = uploadWithEvaluation(ayse, "cv.pdf");
+        uploadWithEvaluation(mehmet, "ozgecmis.pdf");
+        assertEquals(2, refCountOf(blob));
+
+        transactionTemplate.executeWithoutResult(status -> userService.deleteUser("ayse@ornek.com"));
+
+        assertTrue(userRepository.findByEmail("ayse@ornek.com").isEmpty());
+        assertEquals(1, refCountOf(blob));
+        assertTrue(Files.exists(root.resolve(blob.key())));
+        assertEquals(1, cvUploadRepository.count());
+        assertEquals(1, evaluationRepository.count());
+    }
+
+    // ✅ Son referansı tutan hesap silinince blob satırı ve dosyası da silinir
+    @Test
+    void deleteUser_WhenLastReference_ShouldRemoveBlobAndFile() {
+        User ayse = saveUser("ayse@ornek.com");
+        User mehmet = saveUser("mehmet@ornek.com");
+        StoredBlob blob = uploadWithEvaluation(ayse, "cv.pdf");
+        uploadWithEvaluation(mehmet, "ozgecmis.pdf");
+
+        transactionTemplate.executeWithoutResult(status -> userService.deleteUser("ayse@ornek.com"));
+        transactionTemplate.executeWithoutResult(status -> userService.deleteUser("mehmet@ornek.com"));
+
+        assertTrue(cvBlobRepository.findById(blob.sha256()).isEmpty());
+        assertFalse(Files.exists(root.resolve(blob.key())));
+        assertEquals(0, cvUploadRepository.count());
+        assertEquals(0, evaluationRepository.count());
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("$2a$10$hash");
+        user.setCvCount(0);
+        return userRepository.save(user);
+    }
+
+    // Yükleme akışındaki gibi: blob referansı, CV kaydı ve sayaç aynı transaction'da
+    private StoredBlob uploadWithEvaluation(User user, String fileName) {
+        return transactionTemplate.execute(status -> {
+            StoredBlob blob;
+            try {
+                blob = cvBlobStore.store(new ByteArrayInputStream(CONTENT));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            userRepository.reserveCvSlot(user.getId(), 3);
+            CvUpload cvUpload = cvUploadRepository.save(CvUpload.builder()
+                    .fileName(fileName)
+                    .fileType("application/pdf")
+                    .filePath(blob.key())
+                    .contentHash(blob.sha256())
+                    .fileSize(blob.size())
+                    .uploadDate(LocalDateTime.now())
+                    .user(user)
+                    .build());
+            evaluationRepository.save(Evaluation.builder()
+                    .score(70)
+                    .analysisSummary("Özet")
+                    .recommendations("Öneri")
+                    .evaluationType("GENERAL")
+                    .createdAt(LocalDateTime.now())
+                    .user(user)
+                    .cvUpload(cvUpload)
+                    .build());
+            return blob;
+        });
+    }
+
+    private int refCountOf(StoredBlob blob) {
+        return cvBlobRepository.findById(blob.sha256()).map(CvBlob::getRefCount).orElse(0);
+    }
+}
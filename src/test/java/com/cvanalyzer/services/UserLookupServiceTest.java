@@ -0,0 +1,60 @@
+package com.cvanalyzer.services;
+
+import com.cvanalyzer.entities.User;
+import com.cvanalyzer.repos.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserLookupService userLookupService;
+
+    @BeforeEach
+    void setUp() {
+        userLookupService = new UserLookupService(userRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    // ✅ İkinci sorgu önbellekten, invalidate sonrası tekrar veritabanından
+    @Test
+    void findByEmail_WhenCalledTwice_ShouldQueryOnceUntilInvalidated() {
+        User user = new User();
+        user.setEmail("test@test.com");
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+
+        assertSame(user, userLookupService.findByEmail("test@test.com").orElseThrow());
+        assertSame(user, userLookupService.findByEmail("test@test.com").orElseThrow());
+        verify(userRepository, times(1)).findByEmail("test@test.com");
+        assertEquals(1, meterRegistry.get("user.cache.requests").tag("result", "hit").counter().count());
+
+        userLookupService.invalidate("test@test.com");
+        userLookupService.findByEmail("test@test.com");
+        verify(userRepository, times(2)).findByEmail("test@test.com");
+    }
+
+    // ❌ Olmayan kullanıcı önbelleğe alınmaz
+    @Test
+    void findByEmail_WhenUserNotExists_ShouldNotCacheMiss() {
+        when(userRepository.findByEmail("yok@test.com")).thenReturn(Optional.empty());
+
+        assertTrue(userLookupService.findByEmail("yok@test.com").isEmpty());
+        assertTrue(userLookupService.findByEmail("yok@test.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("yok@test.com");
+    }
+}
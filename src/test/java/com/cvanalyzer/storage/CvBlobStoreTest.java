@@ -0,0 +1,96 @@
+package com.cvanalyzer.storage;
+
+import com.cvanalyzer.entities.CvBlob;
+import com.cvanalyzer.entities.CvUpload;
+import com.cvanalyzer.repos.CvBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CvBlobStoreTest {
+
+    @Mock
+    private CvBlobRepository cvBlobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path root;
+
+    private CvBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new CvBlobStore(cvBlobRepository, new FilesystemCvStorage(root), transactionManager,
+                root.resolve("tmp").toString(), Duration.ofMinutes(5));
+    }
+
+    // ✅ Aynı içerik iki kez yüklenince tek dosya, iki referans
+    @Test
+    void store_WhenSameContentTwice_ShouldWriteOneShardedFile() throws Exception {
+        byte[] content = "Ayşe Yılmaz - Yazılım Mühendisi".getBytes(StandardCharsets.UTF_8);
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        StoredBlob first = store.store(new ByteArrayInputStream(content));
+        StoredBlob second = store.store(new ByteArrayInputStream(content));
+
+        assertEquals(expectedHash, first.sha256());
+        assertEquals(first.key(), second.key());
+        Path stored = root.resolve(expectedHash.substring(0, 2)).resolve(expectedHash.substring(2, 4)).resolve(expectedHash);
+        assertArrayEquals(content, Files.readAllBytes(stored));
+        verify(cvBlobRepository, times(2)).acquire(eq(expectedHash), eq((long) content.length), any());
+        try (Stream<Path> tmp = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, tmp.count());
+        }
+    }
+
+    // ✅ Başka referans varken bırakma dosyayı silmez
+    @Test
+    void release_WhenOtherReferencesExist_ShouldOnlyDecrement() throws Exception {
+        StoredBlob blob = store.store(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        CvBlob row = CvBlob.builder().sha256(blob.sha256()).size(3).refCount(2).build();
+        when(cvBlobRepository.findForUpdate(blob.sha256())).thenReturn(Optional.of(row));
+
+        store.release(blob.sha256());
+
+        assertEquals(1, row.getRefCount());
+        verify(cvBlobRepository, never()).delete(any());
+        assertTrue(Files.exists(root.resolve(blob.key())));
+    }
+
+    // ✅ Dosya sisteminde presigned URL yok; indirme uygulama üzerinden akıtılır
+    @Test
+    void presignedDownloadUrl_WhenFilesystemStorage_ShouldBeEmpty() throws Exception {
+        StoredBlob blob = store.store(new ByteArrayInputStream(new byte[]{4, 5, 6}));
+        CvUpload cvUpload = new CvUpload();
+        cvUpload.setContentHash(blob.sha256());
+        cvUpload.setFileName("cv.pdf");
+
+        assertTrue(store.presignedDownloadUrl(cvUpload).isEmpty());
+        try (InputStream in = store.open(cvUpload)) {
+            assertArrayEquals(new byte[]{4, 5, 6}, in.readAllBytes());
+        }
+    }
+}
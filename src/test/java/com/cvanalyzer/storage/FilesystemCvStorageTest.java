@@ -0,0 +1,60 @@
+package com.cvanalyzer.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilesystemCvStorageTest {
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path source;
+
+    private FilesystemCvStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FilesystemCvStorage(root);
+    }
+
+    // ✅ Yazılan dosya anahtar yolunda durur ve akış olarak okunur
+    @Test
+    void put_ShouldStoreUnderKeyAndStream() throws Exception {
+        Path file = Files.writeString(source.resolve("upload.part"), "Mehmet Kaya - Veri Analisti", StandardCharsets.UTF_8);
+
+        storage.put("ab/cd/abcdef", file);
+
+        assertTrue(storage.exists("ab/cd/abcdef"));
+        assertTrue(Files.exists(root.resolve("ab/cd/abcdef")));
+        try (InputStream in = storage.open("ab/cd/abcdef")) {
+            assertEquals("Mehmet Kaya - Veri Analisti", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // ✅ Silinen anahtar okunamaz
+    @Test
+    void delete_ShouldRemoveObject() throws Exception {
+        storage.put("ab/cd/abcdef", Files.write(source.resolve("upload.part"), new byte[]{1}));
+
+        storage.delete("ab/cd/abcdef");
+
+        assertFalse(storage.exists("ab/cd/abcdef"));
+        assertThrows(NoSuchFileException.class, () -> storage.open("ab/cd/abcdef"));
+    }
+
+    // ❌ Kök dizinin dışına çıkan anahtar reddedilir
+    @Test
+    void open_WhenKeyEscapesRoot_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> storage.open("../secret"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.cvanalyzer.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Yerel MinIO'ya karşı çalışır: {@code docker compose up -d minio} sonrası
+ * {@code CVANALYZER_S3_TEST_ENDPOINT=http://localhost:9000 mvn test}. Değişken yoksa atlanır.
+ */
+@EnabledIfEnvironmentVariable(named = "CVANALYZER_S3_TEST_ENDPOINT", matches = ".+")
+class S3CvStorageTest {
+
+    private static final String BUCKET = "cv-uploads-test";
+
+    @TempDir
+    Path source;
+
+    private S3Client s3;
+    private S3Presigner presigner;
+    private S3CvStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        URI endpoint = URI.create(System.getenv("CVANALYZER_S3_TEST_ENDPOINT"));
+        var credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                System.getenv().getOrDefault("MINIO_ROOT_USER", "minioadmin"),
+                System.getenv().getOrDefault("MINIO_ROOT_PASSWORD", "minioadmin")));
+        s3 = S3Client.builder().endpointOverride(endpoint).region(Region.US_EAST_1)
+                .credentialsProvider(credentials).forcePathStyle(true).build();
+        presigner = S3Presigner.builder().endpointOverride(endpoint).region(Region.US_EAST_1)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        try {
+            s3.createBucket(b -> b.bucket(BUCKET));
+        } catch (BucketAlreadyOwnedByYouException ignored) {
+            // Önceki çalıştırmadan kalmış
+        }
+        storage = new S3CvStorage(s3, presigner, BUCKET, S3CvStorage.MIN_PART_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+        s3.close();
+    }
+
+    // ✅ Parça boyutundan büyük dosya multipart yazılır ve aynen okunur
+    @Test
+    void put_WhenLargerThanPartSize_ShouldUploadMultipartAndStream() throws Exception {
+        byte[] content = new byte[(int) (S3CvStorage.MIN_PART_SIZE * 2 + 1234)];
+        new Random(42).nextBytes(content);
+        String key = "test/" + UUID.randomUUID();
+
+        storage.put(key, Files.write(source.resolve("big.part"), content));
+
+        assertTrue(storage.exists(key));
+        try (InputStream in = storage.open(key)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        storage.delete(key);
+        assertFalse(storage.exists(key));
+        assertThrows(NoSuchFileException.class, () -> storage.open(key));
+    }
+
+    // ✅ Presigned URL kimlik bilgisi olmadan indirilebilir
+    @Test
+    void presignedDownloadUrl_ShouldBeDownloadableWithoutCredentials() throws Exception {
+        String key = "test/" + UUID.randomUUID();
+        storage.put(key, Files.writeString(source.resolve("cv.part"), "CV"));
+
+        URI url = storage.presignedDownloadUrl(key, "Özgeçmiş.pdf", "application/pdf", Duration.ofMinutes(1)).orElseThrow();
+
+        HttpURLConnection connection = (HttpURLConnection) url.toURL().openConnection();
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("application/pdf", connection.getContentType());
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals("CV", new String(in.readAllBytes()));
+        }
+        storage.delete(key);
+    }
+
+    // ❌ Parça yüklemesi yarıda kalırsa multipart upload iptal edilir; depoda yarım nesne ya da parça kalmaz
+    @Test
+    void put_WhenPartUploadFails_ShouldAbortMultipartUpload() throws Exception {
+        byte[] content = new byte[(int) (S3CvStorage.MIN_PART_SIZE * 2 + 1234)];
+        new Random(7).nextBytes(content);
+        String key = "test/" + UUID.randomUUID();
+        S3CvStorage failing = new S3CvStorage(failingOnSecondPart(), presigner, BUCKET, S3CvStorage.MIN_PART_SIZE);
+
+        assertThrows(IOException.class, () -> failing.put(key, Files.write(source.resolve("big.part"), content)));
+
+        assertFalse(storage.exists(key));
+        assertTrue(s3.listMultipartUploads(b -> b.bucket(BUCKET).prefix(key)).uploads().isEmpty());
+    }
+
+    // İlk parçayı gerçekten yükler, ikincisinde bağlantı kopmuş gibi hata verir
+    private S3Client failingOnSecondPart() {
+        AtomicInteger parts = new AtomicInteger();
+        return new S3Client() {
+            @Override
+            public String serviceName() {
+                return s3.serviceName();
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+                return s3.createMultipartUpload(request);
+            }
+
+            @Override
+            public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+                if (parts.incrementAndGet() == 2) {
+                    throw S3Exception.builder().statusCode(500).message("Bağlantı koptu").build();
+                }
+                return s3.uploadPart(request, body);
+            }
+
+            @Override
+            public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+                return s3.abortMultipartUpload(request);
+            }
+        };
+    }
+}